@@ -0,0 +1,87 @@
+package com.bench;
+
+import com.chart.ChartRenderer;
+import com.chart.ChartSeries;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full repaint of the exchange-rate chart into an off-screen image,
+ * with the same hints the dashboard panel uses. drawProfessionalChart
+ * builds a fresh renderer on every call, so it draws every layer from
+ * scratch; cachedRepaint reuses one renderer whose static layers are
+ * already cached.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class ChartRenderingBenchmark {
+
+    @Param({ "30", "365", "3650" })
+    public int points;
+
+    private List<Double> data;
+    private BufferedImage image;
+    private Graphics2D g2d;
+    private final ChartRenderer renderer = new ChartRenderer();
+    private ChartSeries series;
+    private Rectangle strip;
+    private int tick;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(11);
+        data = new ArrayList<>(points);
+        double rate = 83.0;
+        for (int i = 0; i < points; i++) {
+            rate += random.nextGaussian() * 0.1;
+            data.add(rate);
+        }
+        series = new ChartSeries(points + 1);
+        series.addAll(data);
+        series.append(data.get(points / 2));
+        image = new BufferedImage(600, 420, BufferedImage.TYPE_INT_ARGB);
+        strip = renderer.liveStrip(series, image.getWidth(), image.getHeight());
+        g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2d.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage drawProfessionalChart() {
+        g2d.setClip(null);
+        ChartRenderer.drawProfessionalChart(g2d, image.getWidth(), image.getHeight(), data);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage cachedRepaint() {
+        g2d.setClip(null);
+        renderer.paint(g2d, image.getWidth(), image.getHeight(), data);
+        return image;
+    }
+
+    // A live tick that moves only the newest point, repainting its strip
+    @Benchmark
+    public BufferedImage liveTickStrip() {
+        series.setLast(data.get(points / 2 + (tick++ & 7)));
+        g2d.setClip(strip);
+        renderer.paint(g2d, image.getWidth(), image.getHeight(), series);
+        return image;
+    }
+}
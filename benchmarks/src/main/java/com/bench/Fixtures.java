@@ -0,0 +1,88 @@
+package com.bench;
+
+import com.engine.Currencies;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Canned provider responses for the benchmarks. Output is deterministic for
+ * a given size, so runs are comparable and never touch the network.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * @param count Number of codes, the supported ones first, then synthetic
+     * @return Codes in table order
+     */
+    static String[] codes(int count) {
+        String[] supported = Currencies.codes();
+        String[] codes = new String[count];
+        for (int i = 0; i < count; i++) {
+            if (i < supported.length) {
+                codes[i] = supported[i];
+            } else {
+                int k = i - supported.length;
+                codes[i] = "X" + (char) ('A' + k / 26 % 26) + (char) ('A' + k % 26) + (k >= 676 ? k / 676 : "");
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * @return Rates per 1 USD for {@link #codes(int)}, USD itself at 1.0
+     */
+    static double[] usdRates(int count) {
+        Random random = new Random(42);
+        double[] rates = new double[count];
+        for (int i = 0; i < count; i++)
+            rates[i] = i == 0 ? 1.0 : 0.1 + random.nextDouble() * 1500;
+        return rates;
+    }
+
+    /**
+     * An exchangerate-api {@code /v4/latest/USD} body with {@code count} rates.
+     */
+    static byte[] latestResponse(int count) {
+        String[] codes = codes(count);
+        double[] rates = usdRates(count);
+        StringBuilder json = new StringBuilder(count * 16 + 160);
+        json.append("{\"provider\":\"https://www.exchangerate-api.com\",")
+                .append("\"WARNING_UPGRADE_TO_V6\":\"https://www.exchangerate-api.com/docs/free\",")
+                .append("\"terms\":\"https://www.exchangerate-api.com/terms\",")
+                .append("\"base\":\"USD\",\"date\":\"2025-09-15\",\"time_last_updated\":1757894401,\"rates\":{");
+        for (int i = 0; i < count; i++) {
+            if (i > 0)
+                json.append(',');
+            json.append('"').append(codes[i]).append("\":").append(rates[i]);
+        }
+        json.append("}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A Frankfurter time-series body for USD to INR covering {@code days} days.
+     */
+    static byte[] trendResponse(int days) {
+        Random random = new Random(7);
+        LocalDate end = LocalDate.of(2025, 9, 15);
+        LocalDate start = end.minusDays(days - 1);
+        StringBuilder json = new StringBuilder(days * 32 + 96);
+        json.append("{\"amount\":1.0,\"base\":\"USD\",\"start_date\":\"").append(start)
+                .append("\",\"end_date\":\"").append(end).append("\",\"rates\":{");
+        double rate = 83.0;
+        for (int i = 0; i < days; i++) {
+            if (i > 0)
+                json.append(',');
+            rate += random.nextGaussian() * 0.1;
+            json.append('"').append(start.plusDays(i)).append("\":{\"INR\":")
+                    .append(Math.round(rate * 1000) / 1000.0).append('}');
+        }
+        json.append("}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,72 @@
+package com.bench;
+
+import com.engine.Currencies;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.rates.RateParser;
+import com.rates.RateTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing an exchangerate-api latest-rates response: the old Gson tree path
+ * of getExchangeRate, a Jackson tree, and the streaming {@link RateParser}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LatestParsingBenchmark {
+
+    @Param({ "15", "160", "1000" })
+    public int rates;
+
+    private byte[] body;
+    private String[] wanted;
+    private final ObjectMapper sharedMapper = new ObjectMapper();
+
+    @Setup
+    public void setUp() {
+        body = Fixtures.latestResponse(rates);
+        wanted = Currencies.codes();
+    }
+
+    // Line-by-line read into a StringBuilder, then a full Gson tree
+    @Benchmark
+    public double gsonTree() throws IOException {
+        StringBuilder response = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body)))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                response.append(line);
+            }
+        }
+        JsonObject jsonObject = JsonParser.parseString(response.toString()).getAsJsonObject();
+        return jsonObject.getAsJsonObject("rates").get("INR").getAsDouble();
+    }
+
+    @Benchmark
+    public double jacksonTree() throws IOException {
+        JsonNode root = sharedMapper.readTree(new ByteArrayInputStream(body));
+        return root.path("rates").path("INR").asDouble();
+    }
+
+    @Benchmark
+    public RateTable streamingSupported() throws IOException {
+        return RateParser.parseRateTable(new ByteArrayInputStream(body), "USD", wanted, 0L);
+    }
+
+    @Benchmark
+    public RateTable streamingAll() throws IOException {
+        return RateParser.parseRateTable(new ByteArrayInputStream(body), "USD", null, 0L);
+    }
+}
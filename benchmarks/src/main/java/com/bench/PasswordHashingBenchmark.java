@@ -0,0 +1,60 @@
+package com.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password hashing as AuthService does it: SHA-256 over password plus salt,
+ * hex-encoded with String.format per byte. The service keeps its helpers
+ * private, so the same steps are reproduced here.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordHashingBenchmark {
+
+    // Password length in characters and hex input length in bytes
+    @Param({ "8", "64", "1024" })
+    public int size;
+
+    private String password;
+    private String salt;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        char[] chars = new char[size];
+        Arrays.fill(chars, 'p');
+        password = new String(chars);
+        salt = "3f2a9c1d7e5b4a6f8c0d2e4f6a8b0c1d";
+        bytes = new byte[size];
+        new Random(3).nextBytes(bytes);
+    }
+
+    @Benchmark
+    public String hashPassword() throws NoSuchAlgorithmException {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        md.update((password + salt).getBytes());
+        return bytesToHex(md.digest());
+    }
+
+    @Benchmark
+    public String bytesToHex() {
+        return bytesToHex(bytes);
+    }
+
+    private static String bytesToHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes)
+            sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,110 @@
+package com.bench;
+
+import com.rates.RateMatrix;
+import com.rates.RateTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cross-rate lookup: USD triangulation through a map, as the old
+ * getMockExchangeRate did, against the precomputed {@link RateMatrix}.
+ * Each operation resolves {@value #LOOKUPS} random pairs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLookupBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({ "15", "64", "160" })
+    public int currencies;
+
+    private String[] codes;
+    private double[] usdRates;
+    private Map<String, Double> usdMap;
+    private RateMatrix matrix;
+
+    private String[] fromCodes;
+    private String[] toCodes;
+    private int[] fromIndex;
+    private int[] toIndex;
+
+    @Setup
+    public void setUp() {
+        codes = Fixtures.codes(currencies);
+        usdRates = Fixtures.usdRates(currencies);
+        usdMap = new HashMap<>();
+        for (int i = 1; i < currencies; i++)
+            usdMap.put(codes[i], usdRates[i]);
+        matrix = RateMatrix.build(new RateTable("USD", usdMap, 0L), codes);
+
+        Random random = new Random(1);
+        fromCodes = new String[LOOKUPS];
+        toCodes = new String[LOOKUPS];
+        fromIndex = new int[LOOKUPS];
+        toIndex = new int[LOOKUPS];
+        for (int k = 0; k < LOOKUPS; k++) {
+            fromIndex[k] = random.nextInt(currencies);
+            toIndex[k] = random.nextInt(currencies);
+            fromCodes[k] = codes[fromIndex[k]];
+            toCodes[k] = codes[toIndex[k]];
+        }
+    }
+
+    // Rebuilds the rate map on every lookup, exactly like the original code
+    @Benchmark
+    public double mapRebuiltPerCall() {
+        double sum = 0;
+        for (int k = 0; k < LOOKUPS; k++) {
+            Map<String, Double> rates = new HashMap<>();
+            for (int i = 1; i < currencies; i++)
+                rates.put(codes[i], usdRates[i]);
+            sum += triangulate(rates, fromCodes[k], toCodes[k]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double sharedMap() {
+        double sum = 0;
+        for (int k = 0; k < LOOKUPS; k++)
+            sum += triangulate(usdMap, fromCodes[k], toCodes[k]);
+        return sum;
+    }
+
+    @Benchmark
+    public double matrixByCode() {
+        double sum = 0;
+        for (int k = 0; k < LOOKUPS; k++)
+            sum += matrix.rate(fromCodes[k], toCodes[k]);
+        return sum;
+    }
+
+    @Benchmark
+    public double matrixByOrdinal() {
+        double sum = 0;
+        for (int k = 0; k < LOOKUPS; k++)
+            sum += matrix.rate(fromIndex[k], toIndex[k]);
+        return sum;
+    }
+
+    private static double triangulate(Map<String, Double> usdRates, String from, String to) {
+        if (from.equals("USD")) {
+            return usdRates.getOrDefault(to, 1.0);
+        } else if (to.equals("USD")) {
+            return 1.0 / usdRates.getOrDefault(from, 1.0);
+        } else {
+            double fromToUsd = 1.0 / usdRates.getOrDefault(from, 1.0);
+            double usdToTo = usdRates.getOrDefault(to, 1.0);
+            return fromToUsd * usdToTo;
+        }
+    }
+}
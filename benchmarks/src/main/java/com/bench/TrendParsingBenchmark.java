@@ -0,0 +1,64 @@
+package com.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rates.RateParser;
+import com.rates.RateSeries;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a Frankfurter time series: the old CurrencyFetcher Jackson tree
+ * (with its per-call ObjectMapper) against the streaming {@link RateParser}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrendParsingBenchmark {
+
+    @Param({ "30", "365", "3650" })
+    public int days;
+
+    private byte[] body;
+    private final ObjectMapper sharedMapper = new ObjectMapper();
+
+    @Setup
+    public void setUp() {
+        body = Fixtures.trendResponse(days);
+    }
+
+    @Benchmark
+    public List<Double> jacksonTreeNewMapper() throws IOException {
+        return readTree(new ObjectMapper());
+    }
+
+    @Benchmark
+    public List<Double> jacksonTreeSharedMapper() throws IOException {
+        return readTree(sharedMapper);
+    }
+
+    @Benchmark
+    public double[] streaming() throws IOException {
+        return RateParser.parseTrend(new ByteArrayInputStream(body), "INR");
+    }
+
+    @Benchmark
+    public RateSeries streamingWithDates() throws IOException {
+        return RateParser.parseSeries(new ByteArrayInputStream(body), "USD", "INR");
+    }
+
+    private List<Double> readTree(ObjectMapper mapper) throws IOException {
+        List<Double> rates = new ArrayList<>();
+        JsonNode ratesNode = mapper.readTree(new ByteArrayInputStream(body)).path("rates");
+        ratesNode.fieldNames().forEachRemaining(date -> rates.add(ratesNode.get(date).get("INR").asDouble()));
+        return rates;
+    }
+}
@@ -0,0 +1,214 @@
+package com.app;
+
+import com.metrics.Counter;
+import com.metrics.LatencyHistogram;
+import com.metrics.Metrics;
+import com.rates.RateSeries;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads chart trends off the Event Dispatch Thread.
+ *
+ * Finished trends are kept for the most recently used pairs, so switching
+ * back to one of them is answered immediately. After each load the swapped
+ * pair is prefetched, and recent pairs whose copy has gone stale are loaded
+ * again, on a separate low-priority thread so that prefetching never delays
+ * the pair the user asked for. A request for a pair whose prefetch has
+ * already started waits for that load; one still queued behind other
+ * prefetches is taken off the prefetcher and loaded in the foreground. Only
+ * the latest request gets its callback. All methods must be called on the EDT.
+ */
+public class ChartLoader {
+
+    /** Loads a trend off the EDT. */
+    public interface TrendSource {
+        RateSeries load(String base, String target) throws Exception;
+    }
+
+    /** Receives the trend for the latest request on the EDT. */
+    public interface Callback {
+        void onTrend(RateSeries trend);
+    }
+
+    private static final int RECENT_PAIRS = Integer.getInteger("chart.recentPairs", 6);
+    private static final long FRESH_MILLIS = Long.getLong("chart.cacheTtl", 10 * 60 * 1000L);
+
+    private static final LatencyHistogram LOAD_LATENCY = Metrics.histogram("ui.chartLoad");
+    private static final Counter CACHE_HITS = Metrics.counter("ui.chartLoad.cached");
+    private static final Counter PREFETCHES = Metrics.counter("ui.chartLoad.prefetches");
+
+    private static final class CachedTrend {
+        final RateSeries rates;
+        final long loadedAt;
+
+        CachedTrend(RateSeries rates, long loadedAt) {
+            this.rates = rates;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isFresh(long now) {
+            return now - loadedAt < FRESH_MILLIS;
+        }
+    }
+
+    private final TrendSource source;
+    private final ExecutorService foreground;
+    private final ExecutorService prefetcher;
+
+    // Recent pairs, least recently used first
+    private final LinkedHashMap<String, CachedTrend> recent = new LinkedHashMap<String, CachedTrend>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedTrend> eldest) {
+            return size() > RECENT_PAIRS;
+        }
+    };
+    private final Map<String, Load> inFlight = new HashMap<>();
+
+    private String pendingKey;
+    private Callback pendingCallback;
+
+    public ChartLoader(TrendSource source) {
+        this.source = source;
+        this.foreground = newPool(2, "chart-load-", Thread.NORM_PRIORITY);
+        this.prefetcher = newPool(1, "chart-prefetch-", Thread.MIN_PRIORITY);
+    }
+
+    /**
+     * Requests the trend for a pair, superseding any earlier request.
+     *
+     * @return true if the trend was cached and the callback has already run;
+     *         false if it will run once the trend arrives
+     */
+    public boolean load(String base, String target, Callback callback) {
+        String key = key(base, target);
+        CachedTrend cached = recent.get(key);
+        if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+            pendingKey = null;
+            pendingCallback = null;
+            CACHE_HITS.increment();
+            callback.onTrend(cached.rates);
+            prefetchNeighbours(base, target);
+            return true;
+        }
+
+        pendingKey = key;
+        pendingCallback = callback;
+        Load load = inFlight.get(key);
+        if (load == null || load.pool == prefetcher && load.withdraw())
+            start(base, target, foreground);
+        return false;
+    }
+
+    /**
+     * Loads a pair in the background if there is no fresh copy, e.g., when
+     * the user picks it but has not asked for the chart yet.
+     */
+    public void prefetch(String base, String target) {
+        String key = key(base, target);
+        if (base.equals(target) || inFlight.containsKey(key))
+            return;
+        CachedTrend cached = recent.get(key);
+        if (cached != null && cached.isFresh(System.currentTimeMillis()))
+            return;
+        PREFETCHES.increment();
+        start(base, target, prefetcher);
+    }
+
+    // One queued or running load; a withdrawn load never runs
+    private final class Load implements Runnable {
+        final String base;
+        final String target;
+        final ExecutorService pool;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        Load(String base, String target, ExecutorService pool) {
+            this.base = base;
+            this.target = target;
+            this.pool = pool;
+        }
+
+        // True if the load had not started and now never will
+        boolean withdraw() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true))
+                return;
+            long start = System.nanoTime();
+            RateSeries rates;
+            try {
+                rates = source.load(base, target);
+            } catch (Exception e) {
+                System.out.println("Chart load failed for " + key(base, target) + ": " + e.getMessage());
+                rates = RateSeries.empty(base, target);
+            } finally {
+                LOAD_LATENCY.recordSince(start);
+            }
+            RateSeries result = rates;
+            SwingUtilities.invokeLater(() -> finished(base, target, result));
+        }
+    }
+
+    private void start(String base, String target, ExecutorService pool) {
+        Load load = new Load(base, target, pool);
+        inFlight.put(key(base, target), load);
+        pool.execute(load);
+    }
+
+    private void finished(String base, String target, RateSeries rates) {
+        String key = key(base, target);
+        inFlight.remove(key);
+        // Failures are not cached, so the next request tries again
+        if (!rates.isEmpty())
+            recent.put(key, new CachedTrend(rates, System.currentTimeMillis()));
+
+        if (key.equals(pendingKey)) {
+            Callback callback = pendingCallback;
+            pendingKey = null;
+            pendingCallback = null;
+            callback.onTrend(rates);
+            prefetchNeighbours(base, target);
+        }
+    }
+
+    // The swapped pair, then recent pairs that have gone stale
+    private void prefetchNeighbours(String base, String target) {
+        prefetch(target, base);
+        long now = System.currentTimeMillis();
+        List<String> stale = new ArrayList<>();
+        for (Map.Entry<String, CachedTrend> e : recent.entrySet()) {
+            if (!e.getValue().isFresh(now))
+                stale.add(e.getKey());
+        }
+        for (String key : stale) {
+            int slash = key.indexOf('/');
+            prefetch(key.substring(0, slash), key.substring(slash + 1));
+        }
+    }
+
+    private static String key(String base, String target) {
+        return base + "/" + target;
+    }
+
+    private static ExecutorService newPool(int threads, String prefix, int priority) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, prefix + count.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(priority);
+            return t;
+        });
+    }
+}
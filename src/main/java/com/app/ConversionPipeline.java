@@ -0,0 +1,111 @@
+package com.app;
+
+import com.metrics.LatencyHistogram;
+import com.metrics.Metrics;
+
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Debounced rate lookups for the converter form.
+ *
+ * Requests submitted in quick succession collapse into the last one, and
+ * starting a lookup cancels the one still running. Results are delivered on
+ * the Event Dispatch Thread and only for the latest request, so stale
+ * answers can never overwrite newer ones. All methods must be called on the
+ * EDT.
+ */
+public class ConversionPipeline {
+
+    /** Looks up a rate off the EDT. */
+    public interface RateSource {
+        double getRate(String from, String to) throws Exception;
+    }
+
+    /** Receives the outcome of the latest request on the EDT. */
+    public interface Callback {
+        void onRate(double rate);
+
+        void onError(Exception e);
+    }
+
+    private static final LatencyHistogram LOOKUP_LATENCY = Metrics.histogram("ui.rateLookup");
+
+    private final RateSource source;
+    private final Timer debounceTimer;
+
+    private long generation = 0;
+    private String pendingFrom;
+    private String pendingTo;
+    private Callback pendingCallback;
+    private SwingWorker<Double, Void> running;
+
+    public ConversionPipeline(RateSource source, int debounceMillis) {
+        this.source = source;
+        this.debounceTimer = new Timer(debounceMillis, e -> dispatch());
+        this.debounceTimer.setRepeats(false);
+    }
+
+    /**
+     * Queues a lookup, replacing any request that has not started yet.
+     */
+    public void submit(String from, String to, Callback callback) {
+        generation++;
+        pendingFrom = from;
+        pendingTo = to;
+        pendingCallback = callback;
+        debounceTimer.restart();
+    }
+
+    // Drop anything queued or running, e.g., on logout; no callback will fire for it.
+    // A running worker is not interrupted, since it may lead a fetch that newer lookups share
+    public void cancel() {
+        generation++;
+        debounceTimer.stop();
+        pendingCallback = null;
+        if (running != null)
+            running.cancel(false);
+    }
+
+    private void dispatch() {
+        if (pendingCallback == null)
+            return;
+        if (running != null)
+            running.cancel(false); // superseded
+
+        long ticket = generation;
+        String from = pendingFrom;
+        String to = pendingTo;
+        Callback callback = pendingCallback;
+        pendingCallback = null;
+
+        running = new SwingWorker<Double, Void>() {
+            @Override
+            protected Double doInBackground() throws Exception {
+                long start = System.nanoTime();
+                try {
+                    return source.getRate(from, to);
+                } finally {
+                    LOOKUP_LATENCY.recordSince(start);
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (ticket != generation || isCancelled())
+                    return;
+                try {
+                    callback.onRate(get());
+                } catch (CancellationException ignored) {
+                    // superseded after completion
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    callback.onError(e);
+                }
+            }
+        };
+        running.execute();
+    }
+}
@@ -8,46 +8,46 @@ import java.awt.event.*;
 import java.awt.geom.RoundRectangle2D;
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.text.DecimalFormat;
+import java.io.Writer;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.server.*;
 
 import com.server.AuthService;
 import com.server.Database;
+import com.server.RateServer;
 import com.server.RegistrationStatus;
 
+import com.chart.ChartRenderer;
+import com.chart.ChartSeries;
 import com.chart.CurrencyFetcher;
+import com.chart.RollingStats;
+import com.engine.BulkConverter;
+import com.engine.ConversionEngine;
+import com.engine.Currencies;
+import com.engine.CurrencyInfo;
+import com.engine.Money;
+import com.engine.MoneyFormat;
+import com.metrics.LatencyHistogram;
+import com.metrics.Metrics;
+import com.rates.RateSeries;
+import com.rates.RateUpdate;
 
 public class CurrencyConverter extends JFrame {
 
-    // Enhanced currency data with flags and full names
-    private static final Map<String, CurrencyData> CURRENCIES = new LinkedHashMap<>();
-    static {
-        CURRENCIES.put("USD", new CurrencyData("🇺🇸", "United States Dollar", "$"));
-        CURRENCIES.put("EUR", new CurrencyData("🇪🇺", "Euro", "€"));
-        CURRENCIES.put("GBP", new CurrencyData("🇬🇧", "British Pound Sterling", "£"));
-        CURRENCIES.put("JPY", new CurrencyData("🇯🇵", "Japanese Yen", "¥"));
-        CURRENCIES.put("AUD", new CurrencyData("🇦🇺", "Australian Dollar", "A$"));
-        CURRENCIES.put("CAD", new CurrencyData("🇨🇦", "Canadian Dollar", "C$"));
-        CURRENCIES.put("CHF", new CurrencyData("🇨🇭", "Swiss Franc", "Fr"));
-        CURRENCIES.put("CNY", new CurrencyData("🇨🇳", "Chinese Yuan", "¥"));
-        CURRENCIES.put("SEK", new CurrencyData("🇸🇪", "Swedish Krona", "kr"));
-        CURRENCIES.put("NZD", new CurrencyData("🇳🇿", "New Zealand Dollar", "NZ$"));
-        CURRENCIES.put("INR", new CurrencyData("🇮🇳", "Indian Rupee", "₹"));
-        CURRENCIES.put("BRL", new CurrencyData("🇧🇷", "Brazilian Real", "R$"));
-        CURRENCIES.put("RUB", new CurrencyData("🇷🇺", "Russian Ruble", "₽"));
-        CURRENCIES.put("KRW", new CurrencyData("🇰🇷", "South Korean Won", "₩"));
-        CURRENCIES.put("SGD", new CurrencyData("🇸🇬", "Singapore Dollar", "S$"));
-    }
+    // Headless rate logic; the UI is just one client of it
+    private final ConversionEngine engine = ConversionEngine.shared();
 
     // Modern color scheme
     private static final Color PRIMARY_COLOR = new Color(99, 102, 241);
@@ -62,6 +62,9 @@ public class CurrencyConverter extends JFrame {
     private static final Color TEXT_SECONDARY = new Color(107, 114, 128);
     private static final Color SIDEBAR_COLOR = new Color(15, 23, 42);
 
+    // Time spent painting the chart on the EDT
+    private static final LatencyHistogram CHART_PAINT = Metrics.histogram("ui.paint", "component", "chart");
+
     // Application state
     private String currentUser = null;
     private CardLayout cardLayout;
@@ -69,31 +72,135 @@ public class CurrencyConverter extends JFrame {
     private boolean isLoggedIn = false;
     private javax.swing.Timer chartUpdateTimer;
     private JPanel chartArea;
+    private final ChartRenderer chartRenderer = new ChartRenderer();
     private String currentFromCurrency = "USD";
     private String currentToCurrency = "INR";
 
     // Simple user storage (in real app, use database)
 
-    // Chart data for animation
-    private List<Double> chartData = new ArrayList<>();
+    // Chart data for animation; history plus today's live point
+    private static final int CHART_CAPACITY = 4096;
+    private final ChartSeries chartData = new ChartSeries(CHART_CAPACITY);
+    // Epoch day of the newest chart point; -1 when undated, e.g., fallback data
+    private long chartLastDay = -1;
     private int chartAnimationFrame = 0;
 
-    // Currency data class
-    private static class CurrencyData {
-        final String flag;
-        final String name;
-        final String symbol;
+    // Trends load off the EDT; the chart shows a placeholder until they arrive
+    private final ChartLoader chartLoader = new ChartLoader(this::fetchTrend);
+    private boolean chartLoading = false;
+
+    // Stat cards, kept current per tick without rescanning the chart history
+    private static final int STATS_WINDOW = 30;
+    private static final int SHORT_WINDOW = 7;
+    private final RollingStats periodStats = new RollingStats(STATS_WINDOW);
+    private final RollingStats shortStats = new RollingStats(SHORT_WINDOW);
+    private StatCard currentCard;
+    private StatCard highCard;
+    private StatCard lowCard;
+    private StatCard volatilityCard;
+    private StatCard smaCard;
+    private StatCard emaCard;
+
+    // Debounces conversion requests and drops superseded ones
+    private final ConversionPipeline conversionPipeline = new ConversionPipeline(engine::getRate, 150);
+    private FrameClock.Handle resultAnimation;
+
+    // Chart subtitle that shows pushed rate updates for the charted pair
+    private JLabel liveRateLabel;
+
+    // Completes once the tables exist; login and registration wait on it
+    private final CompletableFuture<?> databaseReady;
+    private boolean dashboardBuilt = false;
+
+    public CurrencyConverter(CompletableFuture<?> databaseReady) {
+        this.databaseReady = databaseReady;
+        initializeApp();
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                Startup.firstFrame();
+            }
+        });
+
+        // Have the default chart ready by the time the user has logged in
+        databaseReady.thenRun(() -> SwingUtilities
+                .invokeLater(() -> chartLoader.prefetch(currentFromCurrency, currentToCurrency)));
+    }
 
-        CurrencyData(String flag, String name, String symbol) {
-            this.flag = flag;
-            this.name = name;
-            this.symbol = symbol;
+    // The dashboard is built on first login, off the startup path
+    private void showDashboard() {
+        if (!dashboardBuilt) {
+            dashboardBuilt = true;
+            Startup.timed("dashboard", () -> mainContainer.add(createDashboardPage(), "DASHBOARD"));
+            loadChart(currentFromCurrency, currentToCurrency);
+
+            // One feed update per refresh, applied on the EDT
+            engine.getFeed().subscribe(update -> SwingUtilities.invokeLater(() -> showLiveRate(update)));
+            RateUpdate latest = engine.getFeed().getLatest();
+            if (latest != null) {
+                showLiveRate(latest);
+            }
         }
+        cardLayout.show(mainContainer, "DASHBOARD");
     }
 
-    public CurrencyConverter() {
-        initializeApp();
-        initializeChartData(currentFromCurrency, currentToCurrency);
+    // Runs an auth call off the EDT once the tables exist, then hands the result back to the EDT
+    private <T> void withDatabase(Supplier<T> task, Consumer<T> onResult) {
+        databaseReady.thenApplyAsync(ignored -> task.get()).whenComplete((result, error) -> SwingUtilities
+                .invokeLater(() -> {
+                    if (error == null) {
+                        onResult.accept(result);
+                    } else if (databaseReady.isCompletedExceptionally()) {
+                        showNotification("Database unavailable. Please restart the app.", ERROR_COLOR);
+                    } else {
+                        System.out.println("Account request failed: " + error.getCause());
+                        showNotification("Something went wrong. Please try again.", ERROR_COLOR);
+                    }
+                }));
+    }
+
+    private void showLiveRate(RateUpdate update) {
+        if (liveRateLabel == null) {
+            return;
+        }
+        int from = Currencies.indexOf(currentFromCurrency);
+        int to = Currencies.indexOf(currentToCurrency);
+        if (from < 0 || to < 0) {
+            return;
+        }
+        double change = update.percentChange(from, to);
+        String time = LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss"));
+        liveRateLabel.setText(String.format("1 %s = %.4f %s  %s %.2f%%  ·  %s", currentFromCurrency,
+                update.rate(from, to), currentToCurrency, change >= 0 ? "↑" : "↓", Math.abs(change), time));
+        applyLiveTick(update.rate(from, to));
+    }
+
+    // A tick moves today's point if the chart has one, e.g., once the ECB has published; else it adds it
+    private void applyLiveTick(double rate) {
+        if (chartLoading) {
+            return; // re-applied once the trend arrives
+        }
+        long today = LocalDate.now().toEpochDay();
+        boolean appended = chartLastDay != today || chartData.isEmpty();
+        boolean sameBounds = appended ? chartData.append(rate) : chartData.setLast(rate);
+        chartLastDay = today;
+        if (appended) {
+            periodStats.add(rate);
+            shortStats.add(rate);
+        } else {
+            periodStats.setLast(rate);
+            shortStats.setLast(rate);
+        }
+        refreshStatCards();
+        if (chartArea == null) {
+            return;
+        }
+        if (appended || !sameBounds) {
+            chartArea.repaint();
+        } else {
+            chartArea.repaint(chartRenderer.liveStrip(chartData, chartArea.getWidth(), chartArea.getHeight()));
+        }
     }
 
     private void initializeApp() {
@@ -107,10 +214,9 @@ public class CurrencyConverter extends JFrame {
         cardLayout = new CardLayout();
         mainContainer = new JPanel(cardLayout);
 
-        // Create pages
+        // Create pages; the dashboard follows on first login
         mainContainer.add(createLoginPage(), "LOGIN");
         mainContainer.add(createRegisterPage(), "REGISTER");
-        mainContainer.add(createDashboardPage(), "DASHBOARD");
 
         add(mainContainer);
 
@@ -118,33 +224,83 @@ public class CurrencyConverter extends JFrame {
         cardLayout.show(mainContainer, "LOGIN");
     }
 
-    private void initializeChartData(String base, String target) {
-        List<Double> fetchedRates = CurrencyFetcher.fetchCurrencyTrend(base, target, 30);
-        chartData.clear();
-
-        if (fetchedRates.isEmpty()) {
-            // fallback to random data
-            for (int i = 0; i < 30; i++) {
-                chartData.add(83.0 + Math.random() * 2 - 1);
-            }
-        } else {
-            chartData.addAll(fetchedRates);
+    // Cached pairs are shown at once; otherwise the placeholder stays up until the trend arrives
+    private void loadChart(String base, String target) {
+        currentFromCurrency = base;
+        currentToCurrency = target;
+        boolean cached = chartLoader.load(base, target, this::showTrend);
+        if (!cached) {
+            chartLoading = true;
+            chartData.clear();
+            resetStats();
+            if (chartArea != null)
+                chartArea.repaint();
         }
-
     }
 
-    private void updateChartData(String base, String target) {
-        List<Double> rates = CurrencyFetcher.fetchCurrencyTrend(base, target, 30);
+    private void showTrend(RateSeries trend) {
+        chartLoading = false;
         chartData.clear();
-        if (rates.isEmpty()) {
+        if (trend.isEmpty()) {
             // fallback random
+            chartLastDay = -1;
             for (int i = 0; i < 30; i++)
-                chartData.add(83.0 + Math.random() * 2 - 1);
+                chartData.append(83.0 + Math.random() * 2 - 1);
         } else {
-            chartData.addAll(rates);
+            chartLastDay = trend.dayAt(trend.size() - 1);
+            for (int i = 0; i < trend.size(); i++)
+                chartData.append(trend.rateAt(i));
         }
+        resetStats();
         if (chartArea != null)
             chartArea.repaint();
+
+        // Today's point from the feed, if one came in while loading
+        RateUpdate latest = engine.getFeed().getLatest();
+        if (latest != null)
+            showLiveRate(latest);
+    }
+
+    // Only the tail of the chart falls inside the windows
+    private void resetStats() {
+        periodStats.clear();
+        shortStats.clear();
+        for (int i = Math.max(0, chartData.size() - STATS_WINDOW); i < chartData.size(); i++) {
+            double rate = chartData.get(i);
+            periodStats.add(rate);
+            if (i >= chartData.size() - SHORT_WINDOW)
+                shortStats.add(rate);
+        }
+        refreshStatCards();
+    }
+
+    private void refreshStatCards() {
+        if (currentCard == null) {
+            return;
+        }
+        if (periodStats.isEmpty()) {
+            for (StatCard card : new StatCard[] { currentCard, highCard, lowCard, volatilityCard, smaCard, emaCard })
+                card.update("-", "Loading…", TEXT_SECONDARY);
+            return;
+        }
+        int points = periodStats.size();
+        double change = periodStats.percentChange();
+        currentCard.update(String.format("%.4f", periodStats.last()),
+                String.format("%s %.2f%% over %d", change >= 0 ? "↑" : "↓", Math.abs(change), points),
+                change >= 0 ? SUCCESS_COLOR : ERROR_COLOR);
+        highCard.update(String.format("%.4f", periodStats.high()), "Last " + points + " points", WARNING_COLOR);
+        lowCard.update(String.format("%.4f", periodStats.low()), "Last " + points + " points", ERROR_COLOR);
+        volatilityCard.update(String.format("%.2f%%", periodStats.volatility()), "Std. dev. of returns",
+                PRIMARY_COLOR);
+        smaCard.update(String.format("%.4f", shortStats.sma()), "Simple, " + shortStats.size() + " points",
+                PRIMARY_COLOR);
+        emaCard.update(String.format("%.4f", shortStats.ema()), "Exponential, span " + SHORT_WINDOW,
+                PRIMARY_COLOR);
+    }
+
+    // Served from the local history; only days not on disk yet are downloaded
+    private RateSeries fetchTrend(String base, String target) {
+        return CurrencyFetcher.fetchTrendSeries(base, target, 30);
     }
 
     private JPanel createLoginPage() {
@@ -445,6 +601,7 @@ public class CurrencyConverter extends JFrame {
             if (chartUpdateTimer != null) {
                 chartUpdateTimer.stop();
             }
+            conversionPipeline.cancel();
             cardLayout.show(mainContainer, "LOGIN");
             showNotification("Logged out successfully", SUCCESS_COLOR);
         });
@@ -522,12 +679,31 @@ public class CurrencyConverter extends JFrame {
         amountSection.add(Box.createVerticalStrut(12));
         amountSection.add(amountField, BorderLayout.CENTER);
 
+        // Result panel
+        JPanel resultPanel = createRoundedPanel(new Color(240, 253, 244), 10);
+        resultPanel.setBorder(new EmptyBorder(20, 20, 50, 20));
+        resultPanel.setLayout(new BoxLayout(resultPanel, BoxLayout.Y_AXIS));
+
+        JLabel resultLabel = new JLabel("0.00", SwingConstants.CENTER);
+        resultLabel.setFont(new Font("SansSerif", Font.BOLD, 32));
+        resultLabel.setForeground(SUCCESS_COLOR);
+        resultLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        JLabel rateLabel = new JLabel("Exchange rate will appear here", SwingConstants.CENTER);
+        rateLabel.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        rateLabel.setForeground(TEXT_SECONDARY);
+        rateLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        resultPanel.add(resultLabel);
+        resultPanel.add(Box.createVerticalStrut(10));
+        resultPanel.add(rateLabel);
+
         // Currency selection - FIXED: Smart currency swapping
         JPanel currencySection = new JPanel(new GridLayout(1, 3, 20, 0));
         currencySection.setBackground(CARD_COLOR);
         currencySection.setBorder(new EmptyBorder(20, 0, 20, 0));
 
-        String[] currencyCodes = CURRENCIES.keySet().toArray(new String[0]);
+        String[] currencyCodes = Currencies.codes();
         JComboBox<String> fromCombo = createStyledComboBox(currencyCodes);
         JComboBox<String> toCombo = createStyledComboBox(currencyCodes);
 
@@ -550,8 +726,8 @@ public class CurrencyConverter extends JFrame {
                     }
                 }
             }
-            currentFromCurrency = selectedFrom;
-            performConversion(amountField, fromCombo, toCombo, null, null);
+            performConversion(amountField, fromCombo, toCombo, resultLabel, rateLabel);
+            chartLoader.prefetch((String) fromCombo.getSelectedItem(), (String) toCombo.getSelectedItem());
         });
 
         toCombo.addActionListener(e -> {
@@ -567,7 +743,8 @@ public class CurrencyConverter extends JFrame {
                     }
                 }
             }
-            performConversion(amountField, fromCombo, toCombo, null, null);
+            performConversion(amountField, fromCombo, toCombo, resultLabel, rateLabel);
+            chartLoader.prefetch((String) fromCombo.getSelectedItem(), (String) toCombo.getSelectedItem());
         });
 
         currencySection.add(fromCombo);
@@ -579,24 +756,6 @@ public class CurrencyConverter extends JFrame {
         convertButton.setFont(new Font("SansSerif", Font.BOLD, 16));
         convertButton.setAlignmentX(Component.CENTER_ALIGNMENT);
 
-        // Result panel
-        JPanel resultPanel = createRoundedPanel(new Color(240, 253, 244), 10);
-        resultPanel.setBorder(new EmptyBorder(20, 20, 50, 20));
-        resultPanel.setLayout(new BoxLayout(resultPanel, BoxLayout.Y_AXIS));
-
-        JLabel resultLabel = new JLabel("0.00", SwingConstants.CENTER);
-        resultLabel.setFont(new Font("SansSerif", Font.BOLD, 32));
-        resultLabel.setForeground(SUCCESS_COLOR);
-        resultLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-        JLabel rateLabel = new JLabel("Exchange rate will appear here", SwingConstants.CENTER);
-        rateLabel.setFont(new Font("SansSerif", Font.PLAIN, 14));
-        rateLabel.setForeground(TEXT_SECONDARY);
-        rateLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-        resultPanel.add(resultLabel);
-        resultPanel.add(Box.createVerticalStrut(10));
-        resultPanel.add(rateLabel);
 
         // swap action
         swapButton.addActionListener(e -> {
@@ -614,7 +773,7 @@ public class CurrencyConverter extends JFrame {
             String selectedTo = (String) toCombo.getSelectedItem();
 
             performConversion(amountField, fromCombo, toCombo, resultLabel, rateLabel);
-            updateChartData(selectedFrom, selectedTo);
+            loadChart(selectedFrom, selectedTo);
         });
 
         // Footer
@@ -649,6 +808,7 @@ public class CurrencyConverter extends JFrame {
         headerLabel.setForeground(TEXT_PRIMARY);
 
         JLabel subtitleLabel = new JLabel("Real-time market data");
+        liveRateLabel = subtitleLabel;
         subtitleLabel.setFont(new Font("SansSerif", Font.PLAIN, 14));
         subtitleLabel.setForeground(TEXT_SECONDARY);
 
@@ -663,24 +823,37 @@ public class CurrencyConverter extends JFrame {
                 Graphics2D g2d = (Graphics2D) g;
                 g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-                drawProfessionalChart(g2d, getWidth(), getHeight());
+                long start = System.nanoTime();
+                if (chartLoading) {
+                    chartRenderer.paintPlaceholder(g2d, getWidth(), getHeight(),
+                            "Loading " + currentFromCurrency + " → " + currentToCurrency + "…");
+                } else {
+                    chartRenderer.paint(g2d, getWidth(), getHeight(), chartData);
+                }
+                CHART_PAINT.recordSince(start);
             }
         };
         chartArea.setBackground(CARD_COLOR);
 
         // Stats panel - FIXED: Professional market stats
-        JPanel statsPanel = new JPanel(new GridLayout(2, 2, 15, 15));
+        JPanel statsPanel = new JPanel(new GridLayout(2, 3, 15, 15));
         statsPanel.setBackground(CARD_COLOR);
         statsPanel.setBorder(new EmptyBorder(20, 0, 0, 0));
 
         // Dynamic stats that update
-        statsPanel
-                .add(createStatCard("Current Rate", String.format("%.4f", getCurrentRate()), "↑ 0.15%", SUCCESS_COLOR));
-        statsPanel.add(createStatCard("24h High", String.format("%.4f", getCurrentRate() * 1.02), "Peak today",
-                WARNING_COLOR));
-        statsPanel.add(
-                createStatCard("24h Low", String.format("%.4f", getCurrentRate() * 0.98), "Low today", ERROR_COLOR));
-        statsPanel.add(createStatCard("Volume", "2.5M", "Transactions", PRIMARY_COLOR));
+        currentCard = createStatCard("Current Rate", String.format("%.4f", getCurrentRate()), " ", SUCCESS_COLOR);
+        highCard = createStatCard("Period High", "-", " ", WARNING_COLOR);
+        lowCard = createStatCard("Period Low", "-", " ", ERROR_COLOR);
+        volatilityCard = createStatCard("Volatility", "-", " ", PRIMARY_COLOR);
+        smaCard = createStatCard("SMA (" + SHORT_WINDOW + ")", "-", " ", PRIMARY_COLOR);
+        emaCard = createStatCard("EMA (" + SHORT_WINDOW + ")", "-", " ", PRIMARY_COLOR);
+        statsPanel.add(currentCard.panel);
+        statsPanel.add(highCard.panel);
+        statsPanel.add(lowCard.panel);
+        statsPanel.add(volatilityCard.panel);
+        statsPanel.add(smaCard.panel);
+        statsPanel.add(emaCard.panel);
+        refreshStatCards();
 
         panel.add(headerPanel, BorderLayout.NORTH);
         panel.add(chartArea, BorderLayout.CENTER);
@@ -690,132 +863,10 @@ public class CurrencyConverter extends JFrame {
     }
 
     private double getCurrentRate() {
-        return chartData.isEmpty() ? 83.25 : chartData.get(chartData.size() - 1);
+        return chartData.isEmpty() ? 83.25 : chartData.last();
     }
 
-    private void drawProfessionalChart(Graphics2D g2d, int width, int height) {
-        if (chartData.isEmpty())
-            return;
-
-        int margin = 40;
-        int chartWidth = width - 2 * margin;
-        int chartHeight = height - 2 * margin - 60;
-
-        // Background gradient
-        GradientPaint bgGradient = new GradientPaint(0, 0, new Color(248, 250, 252),
-                0, height, Color.WHITE);
-        g2d.setPaint(bgGradient);
-        g2d.fillRect(0, 0, width, height);
-
-        // Grid lines
-        g2d.setColor(new Color(241, 245, 249));
-        g2d.setStroke(new BasicStroke(1, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-
-        for (int i = 0; i <= 8; i++) {
-            int y = margin + (chartHeight * i / 8);
-            g2d.drawLine(margin, y, margin + chartWidth, y);
-        }
-
-        for (int i = 0; i <= 10; i++) {
-            int x = margin + (chartWidth * i / 10);
-            g2d.drawLine(x, margin, x, margin + chartHeight);
-        }
-
-        if (chartData.size() < 2)
-            return;
-
-        // Calculate bounds
-        double minRate = chartData.stream().mapToDouble(d -> d).min().orElse(0);
-        double maxRate = chartData.stream().mapToDouble(d -> d).max().orElse(0);
-        double range = maxRate - minRate;
-        if (range == 0)
-            range = 1;
-
-        // Draw area fill
-        int[] xPoints = new int[chartData.size() + 2];
-        int[] yPoints = new int[chartData.size() + 2];
-
-        for (int i = 0; i < chartData.size(); i++) {
-            xPoints[i] = margin + (chartWidth * i / (chartData.size() - 1));
-            yPoints[i] = margin + chartHeight - (int) ((chartData.get(i) - minRate) / range * chartHeight);
-        }
-
-        // Close the polygon for area fill
-        xPoints[chartData.size()] = xPoints[chartData.size() - 1];
-        yPoints[chartData.size()] = margin + chartHeight;
-        xPoints[chartData.size() + 1] = xPoints[0];
-        yPoints[chartData.size() + 1] = margin + chartHeight;
-
-        // Area gradient
-        GradientPaint areaGradient = new GradientPaint(0, margin,
-                new Color(99, 102, 241, 80), 0, margin + chartHeight,
-                new Color(99, 102, 241, 10));
-        g2d.setPaint(areaGradient);
-        g2d.fillPolygon(xPoints, yPoints, chartData.size() + 2);
-
-        // Draw main line with gradient effect
-        g2d.setStroke(new BasicStroke(3, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-
-        for (int i = 0; i < chartData.size() - 1; i++) {
-            // Gradient line effect
-            GradientPaint lineGradient = new GradientPaint(
-                    xPoints[i], yPoints[i], PRIMARY_COLOR,
-                    xPoints[i + 1], yPoints[i + 1], PRIMARY_DARK);
-            g2d.setPaint(lineGradient);
-            g2d.drawLine(xPoints[i], yPoints[i], xPoints[i + 1], yPoints[i + 1]);
-        }
-
-        // Draw data points with glow effect
-        for (int i = 0; i < chartData.size(); i++) {
-            // Glow effect
-            for (int radius = 8; radius > 0; radius--) {
-                int alpha = 255 - (radius * 30);
-                g2d.setColor(new Color(99, 102, 241, Math.max(0, alpha)));
-                g2d.fillOval(xPoints[i] - radius, yPoints[i] - radius, radius * 2, radius * 2);
-            }
-
-            // Main point
-            g2d.setColor(Color.WHITE);
-            g2d.fillOval(xPoints[i] - 4, yPoints[i] - 4, 8, 8);
-            g2d.setColor(PRIMARY_COLOR);
-            g2d.fillOval(xPoints[i] - 3, yPoints[i] - 3, 6, 6);
-        }
-
-        // Draw value labels
-        g2d.setColor(TEXT_SECONDARY);
-        g2d.setFont(new Font("SansSerif", Font.PLAIN, 11));
-        DecimalFormat df = new DecimalFormat("#0.000");
-
-        // Y-axis labels
-        for (int i = 0; i <= 4; i++) {
-            double value = minRate + (range * i / 4);
-            int y = margin + chartHeight - (chartHeight * i / 4);
-            g2d.drawString(df.format(value), 5, y + 4);
-        }
-
-        // Current value highlight
-        if (!chartData.isEmpty()) {
-            double currentValue = chartData.get(chartData.size() - 1);
-            String valueStr = df.format(currentValue);
-
-            g2d.setFont(new Font("SansSerif", Font.BOLD, 12));
-            FontMetrics fm = g2d.getFontMetrics();
-            int labelWidth = fm.stringWidth(valueStr);
-
-            int lastX = xPoints[chartData.size() - 1];
-            int lastY = yPoints[chartData.size() - 1];
-
-            // Value label background
-            g2d.setColor(PRIMARY_COLOR);
-            g2d.fillRoundRect(lastX - labelWidth / 2 - 8, lastY - 25, labelWidth + 16, 20, 10, 10);
-
-            // Value label text
-            g2d.setColor(Color.WHITE);
-            g2d.drawString(valueStr, lastX - labelWidth / 2, lastY - 10);
-        }
-    }
-
-    private JPanel createStatCard(String title, String value, String change, Color color) {
+    private StatCard createStatCard(String title, String value, String change, Color color) {
         JPanel card = createRoundedPanel(new Color(248, 250, 252), 8);
         card.setBorder(new EmptyBorder(15, 15, 15, 15));
         card.setLayout(new BoxLayout(card, BoxLayout.Y_AXIS));
@@ -841,7 +892,26 @@ public class CurrencyConverter extends JFrame {
         card.add(Box.createVerticalStrut(2));
         card.add(changeLabel);
 
-        return card;
+        return new StatCard(card, valueLabel, changeLabel);
+    }
+
+    // A stat card with labels that are updated in place
+    private static final class StatCard {
+        final JPanel panel;
+        final JLabel valueLabel;
+        final JLabel changeLabel;
+
+        StatCard(JPanel panel, JLabel valueLabel, JLabel changeLabel) {
+            this.panel = panel;
+            this.valueLabel = valueLabel;
+            this.changeLabel = changeLabel;
+        }
+
+        void update(String value, String change, Color color) {
+            valueLabel.setText(value);
+            changeLabel.setText(change);
+            changeLabel.setForeground(color);
+        }
     }
 
     private JPanel createFooterPanel(boolean isWhite) {
@@ -876,142 +946,67 @@ public class CurrencyConverter extends JFrame {
                 return;
             }
 
-            double amount = Double.parseDouble(amountText);
             String from = (String) fromCombo.getSelectedItem();
             String to = (String) toCombo.getSelectedItem();
+            CurrencyInfo source = Currencies.get(from);
+            CurrencyInfo target = Currencies.get(to);
+
+            // Exact minor units (cents, yen, ...) instead of binary doubles
+            long amount = Money.parse(amountText, source.getScale(), RoundingMode.HALF_EVEN);
 
             if (amount <= 0) {
                 showNotification("Amount must be greater than 0", ERROR_COLOR);
                 return;
             }
 
-            // Get exchange rate
-            SwingWorker<Double, Void> worker = new SwingWorker<Double, Void>() {
+            // Get exchange rate; bursts of events collapse into the latest request
+            conversionPipeline.submit(from, to, new ConversionPipeline.Callback() {
                 @Override
-                protected Double doInBackground() throws Exception {
-                    Thread.sleep(500); // Simulate API delay
-                    return getExchangeRate(from, to);
+                public void onRate(double rate) {
+                    long result = Money.convert(amount, source.getScale(), rate, target.getScale(),
+                            RoundingMode.HALF_EVEN);
+
+                    if (resultLabel != null && rateLabel != null) {
+                        resultLabel.setText(MoneyFormat.DEFAULT.format(result, target.getScale()));
+                        rateLabel.setText(String.format("1 %s = %.4f %s", from, rate, to));
+                        String symbol = target.getSymbol();
+                        // Animate result
+                        animateValue(resultLabel, 0, result, target.getScale(), 800, symbol);
+                    }
                 }
 
                 @Override
-                protected void done() {
-                    try {
-                        double rate = get();
-                        double result = amount * rate;
-
-                        if (resultLabel != null && rateLabel != null) {
-                            DecimalFormat formatter = new DecimalFormat("#,##0.00");
-                            resultLabel.setText(formatter.format(result));
-                            rateLabel.setText(String.format("1 %s = %.4f %s", from, rate, to));
-                            String symbol = CURRENCIES.get(to).symbol;
-                            // Animate result
-                            animateValue(resultLabel, 0, result, 800, symbol);
-                        }
-
-                    } catch (Exception ex) {
-                        if (resultLabel != null && rateLabel != null) {
-                            resultLabel.setText("Error");
-                            rateLabel.setText("Failed to fetch exchange rate");
-                        }
-                        showNotification("Conversion failed", ERROR_COLOR);
+                public void onError(Exception ex) {
+                    if (resultLabel != null && rateLabel != null) {
+                        resultLabel.setText("Error");
+                        rateLabel.setText("Failed to fetch exchange rate");
                     }
+                    showNotification("Conversion failed", ERROR_COLOR);
                 }
-            };
+            });
 
-            worker.execute();
-
-        } catch (NumberFormatException e) {
+        } catch (NumberFormatException | ArithmeticException e) {
             showNotification("Please enter a valid number", ERROR_COLOR);
         }
     }
 
-    private void animateValue(JLabel label, double start, double end, int duration, String symbol) {
-        javax.swing.Timer timer = new javax.swing.Timer(20, null);
-        long startTime = System.currentTimeMillis();
-        DecimalFormat formatter = new DecimalFormat("#,##0.00");
-
-        timer.addActionListener(e -> {
-            long elapsed = System.currentTimeMillis() - startTime;
-            double progress = Math.min(1.0, (double) elapsed / duration);
+    private void animateValue(JLabel label, long start, long end, int scale, int duration, String symbol) {
+        // A newer result replaces any count-up still in progress
+        if (resultAnimation != null) {
+            resultAnimation.cancel();
+        }
+        StringBuilder text = new StringBuilder(32);
 
+        resultAnimation = FrameClock.shared().animate(duration, linear -> {
             // Easing function
-            progress = 1 - Math.pow(1 - progress, 3);
+            double progress = 1 - Math.pow(1 - linear, 3);
 
-            double current = start + (end - start) * progress;
-            label.setText(symbol + " " + formatter.format(current));
-
-            if (progress >= 1.0) {
-                timer.stop();
-            }
+            long current = start + Math.round((end - start) * progress);
+            text.setLength(0);
+            text.append(symbol).append(' ');
+            MoneyFormat.DEFAULT.format(current, scale, text);
+            label.setText(text.toString());
         });
-
-        timer.start();
-    }
-
-    private double getExchangeRate(String from, String to) throws IOException {
-        if (from.equals(to))
-            return 1.0;
-
-        try {
-            String apiUrl = "https://api.exchangerate-api.com/v4/latest/" + from;
-            URL url = new URL(apiUrl);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(5000);
-            connection.setReadTimeout(5000);
-
-            if (connection.getResponseCode() != 200) {
-                throw new IOException("API request failed");
-            }
-
-            StringBuilder response = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
-                }
-            }
-
-            JsonObject jsonObject = JsonParser.parseString(response.toString()).getAsJsonObject();
-            JsonObject rates = jsonObject.getAsJsonObject("rates");
-
-            if (!rates.has(to)) {
-                throw new IOException("Currency not supported: " + to);
-            }
-
-            return rates.get(to).getAsDouble();
-
-        } catch (Exception e) {
-            return getMockExchangeRate(from, to);
-        }
-    }
-
-    private double getMockExchangeRate(String from, String to) {
-        Map<String, Double> usdRates = new HashMap<>();
-        usdRates.put("EUR", 0.85);
-        usdRates.put("GBP", 0.73);
-        usdRates.put("JPY", 110.0);
-        usdRates.put("INR", 83.25);
-        usdRates.put("CAD", 1.25);
-        usdRates.put("AUD", 1.35);
-        usdRates.put("CHF", 0.92);
-        usdRates.put("CNY", 6.45);
-        usdRates.put("SEK", 8.75);
-        usdRates.put("NZD", 1.42);
-        usdRates.put("BRL", 5.2);
-        usdRates.put("RUB", 74.5);
-        usdRates.put("KRW", 1180.0);
-        usdRates.put("SGD", 1.35);
-
-        if (from.equals("USD")) {
-            return usdRates.getOrDefault(to, 1.0);
-        } else if (to.equals("USD")) {
-            return 1.0 / usdRates.getOrDefault(from, 1.0);
-        } else {
-            double fromToUsd = 1.0 / usdRates.getOrDefault(from, 1.0);
-            double usdToTo = usdRates.getOrDefault(to, 1.0);
-            return fromToUsd * usdToTo;
-        }
     }
 
     private void handleLogin(String username, String password) {
@@ -1020,14 +1015,16 @@ public class CurrencyConverter extends JFrame {
             return;
         }
 
-        if (AuthService.loginUser(username, password)) {
-            currentUser = username;
-            isLoggedIn = true;
-            cardLayout.show(mainContainer, "DASHBOARD");
-            showNotification("Welcome back, " + username + "!", SUCCESS_COLOR);
-        } else {
-            showNotification("Invalid username or password", ERROR_COLOR);
-        }
+        withDatabase(() -> AuthService.loginUser(username, password), valid -> {
+            if (valid) {
+                currentUser = username;
+                isLoggedIn = true;
+                showDashboard();
+                showNotification("Welcome back, " + username + "!", SUCCESS_COLOR);
+            } else {
+                showNotification("Invalid username or password", ERROR_COLOR);
+            }
+        });
     }
 
     private void handleRegister(String username, String password, String confirmPassword) {
@@ -1046,17 +1043,18 @@ public class CurrencyConverter extends JFrame {
             return;
         }
 
-        RegistrationStatus status = AuthService.registerUser(username, password);
-        if (status == RegistrationStatus.USER_ALREADY_EXISTS) {
-            showNotification("Username already exists", WARNING_COLOR);
-            return;
-        } else if (status == RegistrationStatus.FAILURE) {
-            showNotification("Registration failed. Please try again.", ERROR_COLOR);
-            return;
-        }
+        withDatabase(() -> AuthService.registerUser(username, password), status -> {
+            if (status == RegistrationStatus.USER_ALREADY_EXISTS) {
+                showNotification("Username already exists", WARNING_COLOR);
+                return;
+            } else if (status == RegistrationStatus.FAILURE) {
+                showNotification("Registration failed. Please try again.", ERROR_COLOR);
+                return;
+            }
 
-        showNotification("Account created successfully! Please login.", SUCCESS_COLOR);
-        cardLayout.show(mainContainer, "LOGIN");
+            showNotification("Account created successfully! Please login.", SUCCESS_COLOR);
+            cardLayout.show(mainContainer, "LOGIN");
+        });
     }
 
     private void showNotification(String message, Color color) {
@@ -1076,25 +1074,15 @@ public class CurrencyConverter extends JFrame {
         notification.add(panel);
         notification.setVisible(true);
 
-        javax.swing.Timer timer = new javax.swing.Timer(3000, e -> {
+        FrameClock clock = FrameClock.shared();
+        clock.delay(3000, () -> {
             notification.setVisible(false);
             notification.dispose();
         });
-        timer.setRepeats(false);
-        timer.start();
-
-        // Slide animation
-        javax.swing.Timer slideTimer = new javax.swing.Timer(10, null);
-        int[] y = { -70 };
-        slideTimer.addActionListener(e -> {
-            y[0] += 4;
-            if (y[0] >= 20) {
-                y[0] = 20;
-                slideTimer.stop();
-            }
-            notification.setLocation(notification.getX(), y[0]);
-        });
-        slideTimer.start();
+
+        // Slide animation, from y = -70 down to 20 at 0.4 px/ms
+        clock.animate(225, progress -> notification.setLocation(notification.getX(),
+                -70 + (int) Math.round(90 * progress)));
     }
 
     private JTextField createPlaceholderTextField(String placeholder) {
@@ -1282,9 +1270,9 @@ public class CurrencyConverter extends JFrame {
 
             if (value instanceof String) {
                 String code = (String) value;
-                CurrencyData data = CURRENCIES.get(code);
+                CurrencyInfo data = Currencies.get(code);
                 if (data != null) {
-                    setText(data.flag + " " + code + " - " + data.name);
+                    setText(data.getFlag() + " " + code + " - " + data.getName());
                 }
             }
 
@@ -1300,10 +1288,73 @@ public class CurrencyConverter extends JFrame {
         }
     }
 
-    public static void main(String[] args) {
+    // Headless CSV conversion: --bulk <input.csv> <output.csv>; -Dbulk.allowMockRates=true permits offline rates
+    private static void runBulk(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: --bulk <input.csv> <output.csv>");
+            return;
+        }
+        Database.initialize();
+        ConversionEngine.shared().restoreSnapshot();
+
+        try (BufferedReader in = Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.UTF_8);
+                Writer out = Files.newBufferedWriter(Paths.get(args[2]), StandardCharsets.UTF_8)) {
+            BulkConverter.Result result = new BulkConverter(ConversionEngine.shared(),
+                    Boolean.getBoolean("bulk.allowMockRates")).convert(in, out);
+            System.out.println("Converted " + result);
+        } catch (IOException e) {
+            System.out.println("Bulk conversion failed: " + e.getMessage());
+        }
+    }
+
+    // Headless JSON service: --server [port]
+    private static void runServer(String[] args) {
+        int port = 8080;
+        if (args.length > 1) {
+            try {
+                port = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                System.out.println("Usage: --server [port]");
+                return;
+            }
+        }
         Database.initialize();
+        ConversionEngine.shared().restoreSnapshot();
+
+        int threads = Integer.getInteger("server.threads", Runtime.getRuntime().availableProcessors() * 2);
+        try {
+            new RateServer(ConversionEngine.shared(), port, threads, Integer.getInteger("server.queue", 1024))
+                    .start();
+        } catch (IOException e) {
+            System.out.println("Could not start server: " + e.getMessage());
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--bulk")) {
+            runBulk(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--server")) {
+            runServer(args);
+            return;
+        }
+
+        // Only the login page is on the critical path; the rest warms up alongside it
+        CompletableFuture<Void> database = Startup.background("database", () -> {
+            if (!Database.initialize())
+                throw new IllegalStateException("Database setup failed");
+        });
+        Startup.background("rateCache", database, () -> {
+            ConversionEngine.shared().restoreSnapshot();
+            ConversionEngine.shared().startRefreshing();
+        });
+        Startup.background("classes", () -> Startup.preload("org.sqlite.JDBC",
+                "com.fasterxml.jackson.core.JsonFactory", "com.rates.RateParser", "com.chart.TrendHistory",
+                "com.chart.ChartRenderer", "com.chart.RollingStats", "com.app.ChartLoader",
+                "javax.swing.JSplitPane"));
         SwingUtilities.invokeLater(() -> {
-            new CurrencyConverter().setVisible(true);
+            Startup.timed("window", () -> new CurrencyConverter(database).setVisible(true));
         });
     }
 }
\ No newline at end of file
@@ -0,0 +1,205 @@
+package com.app;
+
+import com.metrics.Counter;
+import com.metrics.Metrics;
+
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.DoubleConsumer;
+
+/**
+ * One timer that drives every UI animation.
+ *
+ * All active tweens advance in a single EDT event per frame, every
+ * {@code ui.frameMillis} milliseconds (default 16), so their component
+ * changes reach the RepaintManager together and are painted in one pass.
+ * Finished and cancelled animations are dropped on the next frame. With no
+ * tweens the clock sleeps until the next delayed action is due, and stops
+ * when there is none, so EDT traffic does not grow with the number of
+ * animations running. All methods must be called on the EDT.
+ */
+public final class FrameClock {
+
+    /** Advanced once per frame. */
+    public interface Tween {
+        /**
+         * @param nowMillis Frame time, shared by every tween in the frame
+         * @return true to be called again next frame, false when finished
+         */
+        boolean onFrame(long nowMillis);
+    }
+
+    /** Lets the owner stop an animation or delayed action early. */
+    public static final class Handle {
+        private boolean done;
+
+        public void cancel() {
+            done = true;
+        }
+
+        public boolean isActive() {
+            return !done;
+        }
+    }
+
+    private static final int FRAME_MILLIS = Integer.getInteger("ui.frameMillis", 16);
+    private static final FrameClock SHARED = new FrameClock(FRAME_MILLIS);
+
+    private static final Counter FRAMES = Metrics.counter("ui.frames");
+    private static final Counter ANIMATION_FAILURES = Metrics.counter("ui.frames.failures", "kind", "tween");
+    private static final Counter DELAYED_FAILURES = Metrics.counter("ui.frames.failures", "kind", "delayed");
+
+    private static final class Running {
+        final Handle handle;
+        final Tween tween;
+
+        Running(Handle handle, Tween tween) {
+            this.handle = handle;
+            this.tween = tween;
+        }
+    }
+
+    private static final class Delayed implements Comparable<Delayed> {
+        final Handle handle;
+        final long due;
+        final long seq;
+        final Runnable action;
+
+        Delayed(Handle handle, long due, long seq, Runnable action) {
+            this.handle = handle;
+            this.due = due;
+            this.seq = seq;
+            this.action = action;
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (due != other.due)
+                return Long.compare(due, other.due);
+            return Long.compare(seq, other.seq);
+        }
+    }
+
+    private final int frameMillis;
+    private final Timer timer;
+    private final List<Running> tweens = new ArrayList<>();
+    // Added while a frame is running; joins from the next frame
+    private final List<Running> added = new ArrayList<>();
+    private final PriorityQueue<Delayed> delayed = new PriorityQueue<>();
+    private long nextSeq = 0;
+    private boolean ticking = false;
+    private boolean sleeping = false;
+    private volatile int active = 0;
+
+    FrameClock(int frameMillis) {
+        this.frameMillis = frameMillis;
+        this.timer = new Timer(frameMillis, e -> tick());
+        this.timer.setCoalesce(true);
+        Metrics.gauge("ui.animations", () -> active);
+    }
+
+    public static FrameClock shared() {
+        return SHARED;
+    }
+
+    /**
+     * Starts a tween; its first frame is the next one.
+     */
+    public Handle add(Tween tween) {
+        Handle handle = new Handle();
+        (ticking ? added : tweens).add(new Running(handle, tween));
+        reschedule();
+        return handle;
+    }
+
+    /**
+     * Reports linear progress from 0 to 1 over the duration, once per frame;
+     * the last call is always exactly 1.
+     */
+    public Handle animate(int durationMillis, DoubleConsumer onProgress) {
+        long start = System.currentTimeMillis();
+        return add(now -> {
+            double progress = durationMillis <= 0 ? 1.0 : Math.min(1.0, (double) (now - start) / durationMillis);
+            onProgress.accept(progress);
+            return progress < 1.0;
+        });
+    }
+
+    /**
+     * Runs an action once, on the first frame at or after the delay.
+     */
+    public Handle delay(int delayMillis, Runnable action) {
+        Handle handle = new Handle();
+        delayed.add(new Delayed(handle, System.currentTimeMillis() + delayMillis, nextSeq++, action));
+        reschedule();
+        return handle;
+    }
+
+    private void tick() {
+        FRAMES.increment();
+        long now = System.currentTimeMillis();
+        ticking = true;
+        try {
+            while (!delayed.isEmpty() && delayed.peek().due <= now) {
+                Delayed d = delayed.poll();
+                if (d.handle.isActive()) {
+                    d.handle.done = true;
+                    run(d.action);
+                }
+            }
+
+            for (Running r : tweens) {
+                if (r.handle.isActive() && !advance(r.tween, now))
+                    r.handle.done = true;
+            }
+        } finally {
+            ticking = false;
+        }
+
+        tweens.removeIf(r -> !r.handle.isActive());
+        tweens.addAll(added);
+        added.clear();
+        reschedule();
+    }
+
+    // Full frame rate while anything animates; otherwise sleep until the next delayed action
+    private void reschedule() {
+        if (ticking)
+            return;
+        active = tweens.size() + delayed.size();
+        if (!tweens.isEmpty()) {
+            if (!timer.isRunning() || sleeping) {
+                sleeping = false;
+                timer.setInitialDelay(frameMillis);
+                timer.restart();
+            }
+        } else if (!delayed.isEmpty()) {
+            long wait = Math.max(0, delayed.peek().due - System.currentTimeMillis());
+            sleeping = true;
+            timer.setInitialDelay((int) Math.min(Integer.MAX_VALUE, wait));
+            timer.restart();
+        } else {
+            timer.stop();
+        }
+    }
+
+    private static boolean advance(Tween tween, long now) {
+        try {
+            return tween.onFrame(now);
+        } catch (RuntimeException e) {
+            // One broken animation must not stop the frame for the others
+            ANIMATION_FAILURES.increment();
+            return false;
+        }
+    }
+
+    private static void run(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            DELAYED_FAILURES.increment();
+        }
+    }
+}
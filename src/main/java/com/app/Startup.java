@@ -0,0 +1,98 @@
+package com.app;
+
+import com.metrics.Metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Desktop startup phases and their timings.
+ *
+ * Work that the login page does not need runs on background threads while
+ * the EDT builds the first frame. Each phase is timed and recorded under the
+ * {@code startup.phase} histogram, as are time to first frame and the JVM
+ * launch before main. First frames slower than {@code startup.targetMillis}
+ * (default 1500) are counted under {@code startup.slowFirstFrame}.
+ */
+public final class Startup {
+
+    // Captured when main first touches this class
+    private static final long MAIN_NANOS = System.nanoTime();
+    private static final long MAIN_MILLIS = System.currentTimeMillis();
+    private static final long TARGET_MILLIS = Long.getLong("startup.targetMillis", 1500);
+
+    private static final ExecutorService POOL;
+    static {
+        AtomicInteger threads = new AtomicInteger();
+        POOL = Executors.newFixedThreadPool(3, r -> {
+            Thread t = new Thread(r, "startup-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private Startup() {
+    }
+
+    /**
+     * Runs a phase on a startup thread.
+     */
+    public static CompletableFuture<Void> background(String phase, Runnable task) {
+        return CompletableFuture.runAsync(() -> timed(phase, task), POOL);
+    }
+
+    /**
+     * Runs a phase on a startup thread once {@code after} has finished, even
+     * if it failed.
+     */
+    public static CompletableFuture<Void> background(String phase, CompletableFuture<?> after, Runnable task) {
+        return after.handle((ignored, error) -> null).thenRunAsync(() -> timed(phase, task), POOL);
+    }
+
+    /**
+     * Runs a phase on the calling thread.
+     */
+    public static void timed(String phase, Runnable task) {
+        long start = System.nanoTime();
+        try {
+            task.run();
+        } finally {
+            record(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Loads and initializes classes ahead of first use, so the EDT does not
+     * stall on them later. Missing classes are skipped and counted under
+     * {@code startup.preloadSkipped}.
+     */
+    public static void preload(String... classNames) {
+        ClassLoader loader = Startup.class.getClassLoader();
+        for (String name : classNames) {
+            try {
+                Class.forName(name, true, loader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                Metrics.counter("startup.preloadSkipped").increment();
+            }
+        }
+    }
+
+    /**
+     * Call when the first window is showing. Records time to first frame.
+     */
+    public static void firstFrame() {
+        long nanos = System.nanoTime() - MAIN_NANOS;
+        record("firstFrame", nanos);
+        long jvm = MAIN_MILLIS - ManagementFactory.getRuntimeMXBean().getStartTime();
+        record("jvmLaunch", jvm * 1_000_000);
+        if (nanos / 1_000_000 > TARGET_MILLIS)
+            Metrics.counter("startup.slowFirstFrame").increment();
+    }
+
+    private static void record(String phase, long nanos) {
+        Metrics.histogram("startup.phase", "phase", phase).record(nanos);
+    }
+}
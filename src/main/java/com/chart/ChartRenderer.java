@@ -0,0 +1,306 @@
+package com.chart;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.text.DecimalFormat;
+import java.util.List;
+
+/**
+ * Paints the exchange-rate chart. Needs no window, so it can render into a
+ * {@link java.awt.image.BufferedImage} in headless mode.
+ *
+ * An instance keeps the background and grid in an off-screen image that is
+ * rebuilt only when the size or display scale changes, and blits one
+ * pre-rendered sprite for each point's glow, so a repaint costs a few
+ * image copies plus work proportional to the data. Instances are not
+ * thread-safe; give each component its own and paint on the EDT.
+ */
+public class ChartRenderer {
+
+    private static final Color PRIMARY_COLOR = new Color(99, 102, 241);
+    private static final Color PRIMARY_DARK = new Color(79, 70, 229);
+    private static final Color TEXT_SECONDARY = new Color(107, 114, 128);
+    private static final Color GRID_COLOR = new Color(241, 245, 249);
+
+    private static final Font LABEL_FONT = new Font("SansSerif", Font.PLAIN, 11);
+    private static final Font BADGE_FONT = new Font("SansSerif", Font.BOLD, 12);
+
+    private static final BasicStroke GRID_STROKE = new BasicStroke(1, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke LINE_STROKE = new BasicStroke(3, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+
+    private static final int MARGIN = 40;
+    private static final int GLOW_RADIUS = 8;
+    // Sprite edge, with a pixel of slack for antialiased rims
+    private static final int SPRITE_SIZE = 2 * GLOW_RADIUS + 2;
+    // Widest half-badge plus padding, for dirty strips
+    private static final int BADGE_SLACK = 60;
+
+    private final DecimalFormat labelFormat = new DecimalFormat("#0.000");
+
+    // Background and grid at device resolution for the current size
+    private BufferedImage staticLayer;
+    private int layerWidth;
+    private int layerHeight;
+    private double layerScale;
+
+    // Glow plus point, drawn once per display scale
+    private BufferedImage glowSprite;
+    private double spriteScale;
+
+    /**
+     * One-off render with no caching, for callers that draw a chart once.
+     *
+     * @param g2d       Target graphics, e.g., a panel or an off-screen image
+     * @param width     Drawing width in pixels
+     * @param height    Drawing height in pixels
+     * @param chartData Rates in chronological order
+     */
+    public static void drawProfessionalChart(Graphics2D g2d, int width, int height, List<Double> chartData) {
+        new ChartRenderer().paint(g2d, width, height, chartData);
+    }
+
+    /**
+     * Draws the exchange-rate chart from a list; see {@link #paint(Graphics2D, int, int, ChartSeries)}.
+     */
+    public void paint(Graphics2D g2d, int width, int height, List<Double> chartData) {
+        ChartSeries series = new ChartSeries(Math.max(1, chartData.size()));
+        series.addAll(chartData);
+        paint(g2d, width, height, series);
+    }
+
+    /**
+     * Draws the exchange-rate chart: background, grid, filled area, line,
+     * glowing points, axis labels and a badge on the latest value. Only the
+     * points inside the clip are drawn, so repainting a strip is cheap.
+     *
+     * @param g2d       Target graphics, e.g., a panel or an off-screen image
+     * @param width     Drawing width in pixels
+     * @param height    Drawing height in pixels
+     * @param chartData Rates in chronological order
+     */
+    public void paint(Graphics2D g2d, int width, int height, ChartSeries chartData) {
+        int n = chartData.size();
+        if (n == 0 || width <= 0 || height <= 0)
+            return;
+
+        int chartWidth = width - 2 * MARGIN;
+        int chartHeight = height - 2 * MARGIN - 60;
+        double scale = g2d.getTransform().getScaleX();
+
+        drawStaticLayer(g2d, width, height, scale);
+
+        if (n < 2)
+            return;
+
+        // Running bounds, no scan
+        double minRate = chartData.min();
+        double maxRate = chartData.max();
+        double range = maxRate - minRate;
+        if (range == 0)
+            range = 1;
+
+        // Points whose glow can reach the clip, plus one neighbour each side for the line
+        int lo = 0;
+        int hi = n - 1;
+        Rectangle clip = g2d.getClipBounds();
+        if (clip != null && chartWidth > 0) {
+            lo = Math.max(0, indexAt(clip.x - GLOW_RADIUS - 1, n, chartWidth) - 1);
+            hi = Math.min(n - 1, indexAt(clip.x + clip.width + GLOW_RADIUS + 1, n, chartWidth) + 1);
+        }
+        int count = hi - lo + 1;
+
+        // Draw area fill
+        int[] xPoints = new int[count + 2];
+        int[] yPoints = new int[count + 2];
+
+        for (int k = 0; k < count; k++) {
+            xPoints[k] = xAt(lo + k, n, chartWidth);
+            yPoints[k] = MARGIN + chartHeight - (int) ((chartData.get(lo + k) - minRate) / range * chartHeight);
+        }
+
+        // Close the polygon for area fill
+        xPoints[count] = xPoints[count - 1];
+        yPoints[count] = MARGIN + chartHeight;
+        xPoints[count + 1] = xPoints[0];
+        yPoints[count + 1] = MARGIN + chartHeight;
+
+        // Area gradient
+        GradientPaint areaGradient = new GradientPaint(0, MARGIN,
+                new Color(99, 102, 241, 80), 0, MARGIN + chartHeight,
+                new Color(99, 102, 241, 10));
+        g2d.setPaint(areaGradient);
+        g2d.fillPolygon(xPoints, yPoints, count + 2);
+
+        // Main line, one gradient across the whole chart and a single polyline
+        g2d.setStroke(LINE_STROKE);
+        g2d.setPaint(new GradientPaint(MARGIN, 0, PRIMARY_COLOR, MARGIN + chartWidth, 0, PRIMARY_DARK));
+        g2d.drawPolyline(xPoints, yPoints, count);
+
+        // Data points with glow effect
+        if (glowSprite == null || spriteScale != scale)
+            rebuildGlowSprite(g2d, scale);
+        int offset = SPRITE_SIZE / 2;
+        for (int k = 0; k < count; k++)
+            g2d.drawImage(glowSprite, xPoints[k] - offset, yPoints[k] - offset, SPRITE_SIZE, SPRITE_SIZE, null);
+
+        // Draw value labels
+        g2d.setColor(TEXT_SECONDARY);
+        g2d.setFont(LABEL_FONT);
+
+        // Y-axis labels
+        for (int i = 0; i <= 4; i++) {
+            double value = minRate + (range * i / 4);
+            int y = MARGIN + chartHeight - (chartHeight * i / 4);
+            g2d.drawString(labelFormat.format(value), 5, y + 4);
+        }
+
+        // Current value highlight
+        double currentValue = chartData.last();
+        String valueStr = labelFormat.format(currentValue);
+
+        g2d.setFont(BADGE_FONT);
+        FontMetrics fm = g2d.getFontMetrics();
+        int labelWidth = fm.stringWidth(valueStr);
+
+        int lastX = xAt(n - 1, n, chartWidth);
+        int lastY = MARGIN + chartHeight - (int) ((currentValue - minRate) / range * chartHeight);
+
+        // Value label background
+        g2d.setColor(PRIMARY_COLOR);
+        g2d.fillRoundRect(lastX - labelWidth / 2 - 8, lastY - 25, labelWidth + 16, 20, 10, 10);
+
+        // Value label text
+        g2d.setColor(Color.WHITE);
+        g2d.drawString(valueStr, lastX - labelWidth / 2, lastY - 10);
+    }
+
+    /**
+     * Draws the empty chart with a centred message, e.g., while a trend loads.
+     */
+    public void paintPlaceholder(Graphics2D g2d, int width, int height, String message) {
+        if (width <= 0 || height <= 0)
+            return;
+        drawStaticLayer(g2d, width, height, g2d.getTransform().getScaleX());
+
+        g2d.setColor(TEXT_SECONDARY);
+        g2d.setFont(BADGE_FONT);
+        FontMetrics fm = g2d.getFontMetrics();
+        g2d.drawString(message, (width - fm.stringWidth(message)) / 2, height / 2);
+    }
+
+    /**
+     * The area that changes when only the newest value moves and the bounds
+     * stay put: the last segment, its glow and the value badge, old or new.
+     */
+    public Rectangle liveStrip(ChartSeries chartData, int width, int height) {
+        int n = chartData.size();
+        int chartWidth = width - 2 * MARGIN;
+        if (n < 2 || chartWidth <= 0)
+            return new Rectangle(0, 0, width, height);
+        int left = Math.min(xAt(n - 2, n, chartWidth) - SPRITE_SIZE, xAt(n - 1, n, chartWidth) - BADGE_SLACK);
+        left = Math.max(0, left);
+        return new Rectangle(left, 0, width - left, height);
+    }
+
+    private static int xAt(int i, int n, int chartWidth) {
+        return MARGIN + (chartWidth * i / (n - 1));
+    }
+
+    // Index of the point at or left of x, clamped to the series
+    private static int indexAt(int x, int n, int chartWidth) {
+        long i = (long) (x - MARGIN) * (n - 1) / chartWidth;
+        return (int) Math.max(0, Math.min(n - 1, i));
+    }
+
+    private void drawStaticLayer(Graphics2D g2d, int width, int height, double scale) {
+        if (staticLayer == null || layerWidth != width || layerHeight != height || layerScale != scale)
+            rebuildStaticLayer(g2d, width, height, scale);
+        g2d.drawImage(staticLayer, 0, 0, width, height, null);
+    }
+
+    /**
+     * Drops the cached layers, e.g., after a theme change.
+     */
+    public void invalidate() {
+        staticLayer = null;
+        glowSprite = null;
+    }
+
+    private void rebuildStaticLayer(Graphics2D target, int width, int height, double scale) {
+        int chartWidth = width - 2 * MARGIN;
+        int chartHeight = height - 2 * MARGIN - 60;
+
+        BufferedImage layer = target.getDeviceConfiguration().createCompatibleImage(
+                (int) Math.ceil(width * scale), (int) Math.ceil(height * scale), Transparency.OPAQUE);
+        Graphics2D g2d = layer.createGraphics();
+        try {
+            g2d.setRenderingHints(target.getRenderingHints());
+            g2d.scale(scale, scale);
+
+            // Background gradient
+            GradientPaint bgGradient = new GradientPaint(0, 0, new Color(248, 250, 252),
+                    0, height, Color.WHITE);
+            g2d.setPaint(bgGradient);
+            g2d.fillRect(0, 0, width, height);
+
+            // Grid lines
+            g2d.setColor(GRID_COLOR);
+            g2d.setStroke(GRID_STROKE);
+
+            for (int i = 0; i <= 8; i++) {
+                int y = MARGIN + (chartHeight * i / 8);
+                g2d.drawLine(MARGIN, y, MARGIN + chartWidth, y);
+            }
+
+            for (int i = 0; i <= 10; i++) {
+                int x = MARGIN + (chartWidth * i / 10);
+                g2d.drawLine(x, MARGIN, x, MARGIN + chartHeight);
+            }
+        } finally {
+            g2d.dispose();
+        }
+
+        staticLayer = layer;
+        layerWidth = width;
+        layerHeight = height;
+        layerScale = scale;
+    }
+
+    private void rebuildGlowSprite(Graphics2D target, double scale) {
+        int size = (int) Math.ceil(SPRITE_SIZE * scale);
+        BufferedImage sprite = target.getDeviceConfiguration().createCompatibleImage(size, size,
+                Transparency.TRANSLUCENT);
+        Graphics2D g2d = sprite.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.scale(scale, scale);
+            int c = SPRITE_SIZE / 2;
+
+            // Glow effect
+            for (int radius = GLOW_RADIUS; radius > 0; radius--) {
+                int alpha = 255 - (radius * 30);
+                g2d.setColor(new Color(99, 102, 241, Math.max(0, alpha)));
+                g2d.fillOval(c - radius, c - radius, radius * 2, radius * 2);
+            }
+
+            // Main point
+            g2d.setColor(Color.WHITE);
+            g2d.fillOval(c - 4, c - 4, 8, 8);
+            g2d.setColor(PRIMARY_COLOR);
+            g2d.fillOval(c - 3, c - 3, 6, 6);
+        } finally {
+            g2d.dispose();
+        }
+
+        glowSprite = sprite;
+        spriteScale = scale;
+    }
+}
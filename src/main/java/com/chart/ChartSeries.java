@@ -0,0 +1,169 @@
+package com.chart;
+
+import java.util.List;
+
+/**
+ * Fixed-capacity ring buffer of chart values with running bounds.
+ *
+ * Appending evicts the oldest value once full. Minimum and maximum are kept
+ * in monotonic queues over every value but the newest, which is tracked on
+ * its own, so {@link #append}, {@link #setLast}, {@link #min} and
+ * {@link #max} are all O(1) amortized. Not thread-safe; use from the EDT.
+ */
+public class ChartSeries {
+
+    private final double[] values;
+
+    // Sequence numbers of the oldest value and one past the newest
+    private long start;
+    private long end;
+
+    // Candidate sequence numbers for the minimum and maximum, oldest first
+    private final long[] minQueue;
+    private final long[] maxQueue;
+    private int minHead, minSize;
+    private int maxHead, maxSize;
+
+    public ChartSeries(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive");
+        this.values = new double[capacity];
+        this.minQueue = new long[capacity];
+        this.maxQueue = new long[capacity];
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public int size() {
+        return (int) (end - start);
+    }
+
+    public boolean isEmpty() {
+        return end == start;
+    }
+
+    public boolean isFull() {
+        return size() == values.length;
+    }
+
+    /**
+     * @param i Index from the oldest value, 0 to size() - 1
+     */
+    public double get(int i) {
+        if (i < 0 || i >= size())
+            throw new IndexOutOfBoundsException("Index " + i + ", size " + size());
+        return value(start + i);
+    }
+
+    /**
+     * @return The newest value, or NaN if empty
+     */
+    public double last() {
+        return isEmpty() ? Double.NaN : value(end - 1);
+    }
+
+    /**
+     * @return The smallest value held, or NaN if empty
+     */
+    public double min() {
+        if (isEmpty())
+            return Double.NaN;
+        double min = last();
+        return minSize == 0 ? min : Math.min(min, value(minQueue[minHead]));
+    }
+
+    /**
+     * @return The largest value held, or NaN if empty
+     */
+    public double max() {
+        if (isEmpty())
+            return Double.NaN;
+        double max = last();
+        return maxSize == 0 ? max : Math.max(max, value(maxQueue[maxHead]));
+    }
+
+    /**
+     * Adds a value, evicting the oldest one if full.
+     *
+     * @return true if the minimum and maximum are unchanged
+     */
+    public boolean append(double value) {
+        double oldMin = min();
+        double oldMax = max();
+
+        if (!isEmpty())
+            commit(end - 1);
+        if (isFull())
+            evictOldest();
+        values[slot(end)] = value;
+        end++;
+        return sameBounds(oldMin, oldMax);
+    }
+
+    /**
+     * Replaces the newest value, e.g., today's rate as live ticks arrive.
+     *
+     * @return true if the minimum and maximum are unchanged
+     */
+    public boolean setLast(double value) {
+        if (isEmpty())
+            throw new IllegalStateException("Series is empty");
+        double oldMin = min();
+        double oldMax = max();
+        values[slot(end - 1)] = value;
+        return sameBounds(oldMin, oldMax);
+    }
+
+    public void addAll(List<Double> list) {
+        for (Double value : list)
+            append(value);
+    }
+
+    public void clear() {
+        start = end = 0;
+        minHead = minSize = 0;
+        maxHead = maxSize = 0;
+    }
+
+    // Moves a value into the monotonic queues once it is no longer the newest
+    private void commit(long seq) {
+        double v = value(seq);
+        int cap = values.length;
+
+        while (minSize > 0 && value(minQueue[(minHead + minSize - 1) % cap]) >= v)
+            minSize--;
+        minQueue[(minHead + minSize) % cap] = seq;
+        minSize++;
+
+        while (maxSize > 0 && value(maxQueue[(maxHead + maxSize - 1) % cap]) <= v)
+            maxSize--;
+        maxQueue[(maxHead + maxSize) % cap] = seq;
+        maxSize++;
+    }
+
+    private void evictOldest() {
+        if (minSize > 0 && minQueue[minHead] == start) {
+            minHead = (minHead + 1) % values.length;
+            minSize--;
+        }
+        if (maxSize > 0 && maxQueue[maxHead] == start) {
+            maxHead = (maxHead + 1) % values.length;
+            maxSize--;
+        }
+        start++;
+    }
+
+    private boolean sameBounds(double oldMin, double oldMax) {
+        return Double.compare(oldMin, min()) == 0 && Double.compare(oldMax, max()) == 0;
+    }
+
+    private double value(long seq) {
+        return values[slot(seq)];
+    }
+
+    private int slot(long seq) {
+        return (int) (seq % values.length);
+    }
+}
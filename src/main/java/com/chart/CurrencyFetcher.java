@@ -1,17 +1,146 @@
 package com.chart;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.net.URL;
+import com.metrics.Metrics;
+import com.rates.CircuitBreaker;
+import com.rates.RateColumns;
+import com.rates.RateHttpClient;
+import com.rates.RateParser;
+import com.rates.RateSeries;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class CurrencyFetcher {
 
+    private static final String DEFAULT_TREND_API_URL = "https://api.frankfurter.app";
+    private static final long TREND_API_DEADLINE = 10000;
+
+    // Long ranges are split into windows of this many days, fetched concurrently
+    private static final int DEFAULT_CHUNK_DAYS = Integer.getInteger("rates.history.chunkDays", 365);
+    private static final int MAX_PARALLEL_CHUNKS = Integer.getInteger("rates.history.parallelism", 4);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 250;
+
+    // Replaced only by tests, through useProvider()
+    private static volatile String trendApiUrl = DEFAULT_TREND_API_URL;
+    private static volatile String trendApiHost = host(DEFAULT_TREND_API_URL);
+    private static volatile int chunkDays = DEFAULT_CHUNK_DAYS;
+
+    private static final ExecutorService CHUNK_POOL;
+    static {
+        AtomicInteger threads = new AtomicInteger();
+        CHUNK_POOL = Executors.newFixedThreadPool(MAX_PARALLEL_CHUNKS, r -> {
+            Thread t = new Thread(r, "trend-chunk-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Downloads one window in a single request
+    private interface WindowFetch<T> {
+        T fetch(LocalDate start, LocalDate end) throws IOException;
+    }
+
+    /** Windows of a chunked download; failed windows leave holes rather than failing the whole range. */
+    public abstract static class Chunks {
+        private final int[] chunkStarts;
+        private final int[] chunkEnds;
+        private final boolean[] succeeded;
+
+        Chunks(int[] chunkStarts, int[] chunkEnds, boolean[] succeeded) {
+            this.chunkStarts = chunkStarts;
+            this.chunkEnds = chunkEnds;
+            this.succeeded = succeeded;
+        }
+
+        public int getChunkCount() {
+            return succeeded.length;
+        }
+
+        public int getFailedChunks() {
+            int failed = 0;
+            for (boolean ok : succeeded) {
+                if (!ok)
+                    failed++;
+            }
+            return failed;
+        }
+
+        public boolean isComplete() {
+            return getFailedChunks() == 0;
+        }
+
+        public boolean isEmpty() {
+            return getFailedChunks() == succeeded.length;
+        }
+
+        /**
+         * @return Last epoch day of the unbroken run of windows from the start
+         *         of the range, or the day before the range if the first failed
+         */
+        public int completeThrough() {
+            int day = chunkStarts[0] - 1;
+            for (int i = 0; i < succeeded.length && succeeded[i]; i++)
+                day = chunkEnds[i];
+            return day;
+        }
+
+        /**
+         * @return First epoch day of the unbroken run of windows up to the end
+         *         of the range, or the day after the range if the last failed
+         */
+        public int completeFrom() {
+            int day = chunkEnds[chunkEnds.length - 1] + 1;
+            for (int i = succeeded.length - 1; i >= 0 && succeeded[i]; i--)
+                day = chunkStarts[i];
+            return day;
+        }
+    }
+
+    /** Outcome of a chunked single-target download. */
+    public static final class Download extends Chunks {
+        private final RateSeries series;
+
+        Download(RateSeries series, int[] chunkStarts, int[] chunkEnds, boolean[] succeeded) {
+            super(chunkStarts, chunkEnds, succeeded);
+            this.series = series;
+        }
+
+        /**
+         * @return Every day from the windows that arrived, in ascending order
+         */
+        public RateSeries getSeries() {
+            return series;
+        }
+    }
+
+    /** Outcome of a chunked multi-target download. */
+    public static final class ColumnDownload extends Chunks {
+        private final RateColumns columns;
+
+        ColumnDownload(RateColumns columns, int[] chunkStarts, int[] chunkEnds, boolean[] succeeded) {
+            super(chunkStarts, chunkEnds, succeeded);
+            this.columns = columns;
+        }
+
+        /**
+         * @return Every day from the windows that arrived, one column per target
+         */
+        public RateColumns getColumns() {
+            return columns;
+        }
+    }
+
     /**
      * Fetches currency trend for the past 'days' days using Frankfurter API (no API
-     * key required).
+     * key required). Days already in the local history are read from disk;
+     * only the missing range is downloaded.
      * 
      * @param base   Base currency, e.g., "USD"
      * @param target Target currency, e.g., "INR"
@@ -19,29 +148,210 @@ public class CurrencyFetcher {
      * @return List of exchange rates in chronological order
      */
     public static List<Double> fetchCurrencyTrend(String base, String target, int days) {
-        List<Double> rates = new ArrayList<>();
-        try {
-            LocalDate endDate = LocalDate.now();
-            LocalDate startDate = endDate.minusDays(days - 1);
+        return fetchTrendSeries(base, target, days).toList();
+    }
+
+    /**
+     * Like {@link #fetchCurrencyTrend(String, String, int)}, keeping the day
+     * of each rate, e.g., to tell whether today is already quoted.
+     */
+    public static RateSeries fetchTrendSeries(String base, String target, int days) {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(days - 1);
+        return TrendHistory.getSeries(base, target, startDate, endDate);
+    }
+
+    /**
+     * Downloads a date range of any length from Frankfurter, bypassing the
+     * local history. The range is split into {@code rates.history.chunkDays}
+     * windows, at most {@code rates.history.parallelism} of which are in
+     * flight at once, and each window is retried on its own.
+     *
+     * @param base   Base currency, e.g., "USD"
+     * @param target Target currency, e.g., "INR"
+     * @param start  First day, inclusive
+     * @param end    Last day, inclusive
+     * @return The windows that arrived, reassembled in date order
+     */
+    public static Download downloadSeries(String base, String target, LocalDate start, LocalDate end) {
+        int[][] windows = windows(start, end);
+        List<RateSeries> results = fetchWindows(windows, (from, to) -> fetchSeries(base, target, from, to)
+                .slice((int) from.toEpochDay(), (int) to.toEpochDay()));
 
-            // Frankfurter API URL for timeseries
-            String urlStr = String.format(
-                    "https://api.frankfurter.app/%s..%s?from=%s&to=%s",
-                    startDate, endDate, base, target);
+        List<RateSeries> parts = new ArrayList<>(results.size());
+        boolean[] succeeded = new boolean[results.size()];
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) != null) {
+                parts.add(results.get(i));
+                succeeded[i] = true;
+            }
+        }
+        return new Download(RateSeries.concat(base, target, parts), windows[0], windows[1], succeeded);
+    }
 
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(new URL(urlStr));
-            JsonNode ratesNode = root.path("rates");
+    /**
+     * Downloads several targets at once, one request per window rather than
+     * one per target, into primitive columns. Windows are chunked and
+     * retried as in {@link #downloadSeries}.
+     *
+     * @param base    Base currency, e.g., "USD"
+     * @param targets Target currencies, e.g., {"INR", "EUR"}
+     * @param start   First day, inclusive
+     * @param end     Last day, inclusive
+     * @return The windows that arrived, as columns over one shared day axis
+     */
+    public static ColumnDownload downloadColumns(String base, String[] targets, LocalDate start, LocalDate end) {
+        String to = String.join(",", targets);
+        int[][] windows = windows(start, end);
+        List<RateColumns> results = fetchWindows(windows, (from, until) -> fetchColumnsWindow(base, to, targets,
+                from, until).slice((int) from.toEpochDay(), (int) until.toEpochDay()));
+
+        List<RateColumns> parts = new ArrayList<>(results.size());
+        boolean[] succeeded = new boolean[results.size()];
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) != null) {
+                parts.add(results.get(i));
+                succeeded[i] = true;
+            }
+        }
+        return new ColumnDownload(RateColumns.concat(base, targets, parts), windows[0], windows[1], succeeded);
+    }
 
+    /**
+     * Downloads one date range from Frankfurter in a single request.
+     *
+     * @param base   Base currency, e.g., "USD"
+     * @param target Target currency, e.g., "INR"
+     * @param start  First day, inclusive
+     * @param end    Last day, inclusive
+     * @return Quoted days in ascending order
+     */
+    public static RateSeries fetchSeries(String base, String target, LocalDate start, LocalDate end)
+            throws IOException {
+        // Frankfurter API URL for timeseries
+        String urlStr = String.format(
+                "%s/%s..%s?from=%s&to=%s",
+                trendApiUrl, start, end, base, target);
+
+        long startNanos = System.nanoTime();
+        try {
             // Frankfurter returns a JSON object with dates as fields
-            ratesNode.fieldNames().forEachRemaining(date -> {
-                double rate = ratesNode.get(date).get(target).asDouble();
-                rates.add(rate);
-            });
+            return CircuitBreaker.forHost(trendApiHost).execute(() -> RateHttpClient.shared()
+                    .get(urlStr, in -> RateParser.parseSeries(in, base, target), TREND_API_DEADLINE));
+        } catch (IOException e) {
+            Metrics.counter("trend.failures", "provider", trendApiHost).increment();
+            throw e;
+        } finally {
+            Metrics.histogram("trend.fetch", "provider", trendApiHost).recordSince(startNanos);
+        }
+    }
+
+    private static RateColumns fetchColumnsWindow(String base, String to, String[] targets, LocalDate start,
+            LocalDate end) throws IOException {
+        String urlStr = String.format(
+                "%s/%s..%s?from=%s&to=%s",
+                trendApiUrl, start, end, base, to);
+
+        long startNanos = System.nanoTime();
+        try {
+            return CircuitBreaker.forHost(trendApiHost).execute(() -> RateHttpClient.shared()
+                    .get(urlStr, in -> RateParser.parseColumns(in, base, targets), TREND_API_DEADLINE));
+        } catch (IOException e) {
+            Metrics.counter("trend.failures", "provider", trendApiHost).increment();
+            throw e;
+        } finally {
+            Metrics.histogram("trend.fetch", "provider", trendApiHost).recordSince(startNanos);
+        }
+    }
+
+    // {starts, ends} as epoch days, chunkDays per window
+    private static int[][] windows(LocalDate start, LocalDate end) {
+        int days = chunkDays;
+        int from = (int) start.toEpochDay();
+        int to = (int) end.toEpochDay();
+        int chunks = Math.max(1, (to - from + days) / days);
+        int[][] windows = new int[2][chunks];
+        for (int i = 0; i < chunks; i++) {
+            windows[0][i] = from + i * days;
+            windows[1][i] = Math.min(to, windows[0][i] + days - 1);
+        }
+        return windows;
+    }
 
-        } catch (Exception e) {
-            System.out.println("Failed to fetch currency data: " + e.getMessage());
+    /**
+     * Points trend downloads at another provider, e.g., a local test server,
+     * or back at the default one when {@code url} is null.
+     *
+     * @param chunkDays Days per window, or 0 for the configured size
+     */
+    static void useProvider(String url, int chunkDays) {
+        String target = url != null ? url : DEFAULT_TREND_API_URL;
+        trendApiHost = host(target);
+        trendApiUrl = target;
+        CurrencyFetcher.chunkDays = chunkDays > 0 ? chunkDays : DEFAULT_CHUNK_DAYS;
+    }
+
+    private static String host(String url) {
+        return url.replaceFirst("^[a-z]+://", "").replaceFirst("[:/].*", "");
+    }
+
+    // Results in window order; null where a window failed for good
+    private static <T> List<T> fetchWindows(int[][] windows, WindowFetch<T> fetch) {
+        int chunks = windows[0].length;
+        List<T> results = new ArrayList<>(chunks);
+        if (chunks == 1) {
+            // Nothing to overlap; skip the hand-off to the pool
+            results.add(fetchWithRetry(fetch, windows[0][0], windows[1][0]));
+            return results;
+        }
+
+        List<Future<T>> pending = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            int fromDay = windows[0][i];
+            int toDay = windows[1][i];
+            pending.add(CHUNK_POOL.submit(() -> fetchWithRetry(fetch, fromDay, toDay)));
+        }
+        for (Future<T> future : pending)
+            results.add(await(future));
+        return results;
+    }
+
+    // Frankfurter may prepend the last business day before a weekend start, so callers slice.
+    // Only I/O failures and 5xx are retried; a 4xx such as an unknown currency fails at once.
+    private static <T> T fetchWithRetry(WindowFetch<T> fetch, int fromDay, int toDay) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                return fetch.fetch(LocalDate.ofEpochDay(fromDay), LocalDate.ofEpochDay(toDay));
+            } catch (CircuitBreaker.OpenException e) {
+                System.out.println("Failed to fetch currency data: " + e.getMessage());
+                return null;
+            } catch (IOException e) {
+                boolean permanent = e instanceof RateHttpClient.StatusException
+                        && !((RateHttpClient.StatusException) e).isServerError();
+                if (permanent || attempt == MAX_ATTEMPTS) {
+                    System.out.println("Failed to fetch currency data: " + e.getMessage());
+                    return null;
+                }
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS << (attempt - 1));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return null;
+        } catch (ExecutionException e) {
+            System.out.println("Failed to fetch currency data: " + e.getCause());
+            return null;
         }
-        return rates;
     }
 }
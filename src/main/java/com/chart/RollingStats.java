@@ -0,0 +1,182 @@
+package com.chart;
+
+import java.util.List;
+
+/**
+ * Windowed statistics over a rate series, updated in O(1) per observation.
+ *
+ * Tracks high, low, change and percent change across the window, a simple
+ * moving average, an exponential moving average with the same span, and
+ * volatility as the sample standard deviation of log returns. The newest
+ * observation can be revised in place, e.g., as live ticks move today's
+ * rate. Not thread-safe; use from the EDT.
+ */
+public class RollingStats {
+
+    private final int window;
+    private final double alpha;
+
+    // Window values with running high and low
+    private final ChartSeries values;
+
+    // Log returns between consecutive window values, oldest at returnStart
+    private final double[] returns;
+    private int returnStart;
+    private int returnCount;
+
+    private double sum;
+    private double returnSum;
+    private double returnSumSq;
+
+    private long count;
+    private double ema;
+    // EMA before the newest observation, so it can be revised
+    private double emaBefore;
+
+    /**
+     * @param window Observations covered by every statistic, also the EMA span
+     */
+    public RollingStats(int window) {
+        if (window <= 0)
+            throw new IllegalArgumentException("Window must be positive");
+        this.window = window;
+        this.alpha = 2.0 / (window + 1);
+        this.values = new ChartSeries(window);
+        this.returns = new double[window];
+    }
+
+    public int window() {
+        return window;
+    }
+
+    /**
+     * @return Observations currently in the window
+     */
+    public int size() {
+        return values.size();
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    public void add(double value) {
+        double previous = values.last();
+        if (values.isFull())
+            sum -= values.get(0);
+        values.append(value);
+        sum += value;
+
+        if (!Double.isNaN(previous))
+            pushReturn(logReturn(previous, value));
+        // A window of n values holds n - 1 returns
+        while (returnCount > values.size() - 1)
+            popReturn();
+
+        emaBefore = count == 0 ? value : ema;
+        ema = count == 0 ? value : ema + alpha * (value - ema);
+        count++;
+    }
+
+    public void addAll(List<Double> list) {
+        for (Double value : list)
+            add(value);
+    }
+
+    /**
+     * Replaces the newest observation.
+     */
+    public void setLast(double value) {
+        if (values.isEmpty())
+            throw new IllegalStateException("No observation to replace");
+        sum += value - values.last();
+        values.setLast(value);
+
+        if (returnCount > 0) {
+            int newest = (returnStart + returnCount - 1) % returns.length;
+            double old = returns[newest];
+            double fresh = logReturn(values.get(values.size() - 2), value);
+            returns[newest] = fresh;
+            returnSum += fresh - old;
+            returnSumSq += fresh * fresh - old * old;
+        }
+
+        ema = count == 1 ? value : emaBefore + alpha * (value - emaBefore);
+    }
+
+    public void clear() {
+        values.clear();
+        returnStart = returnCount = 0;
+        sum = returnSum = returnSumSq = 0;
+        count = 0;
+        ema = emaBefore = 0;
+    }
+
+    public double last() {
+        return values.last();
+    }
+
+    public double high() {
+        return values.max();
+    }
+
+    public double low() {
+        return values.min();
+    }
+
+    /**
+     * @return Newest minus oldest value in the window
+     */
+    public double change() {
+        return isEmpty() ? Double.NaN : values.last() - values.get(0);
+    }
+
+    /**
+     * @return Change across the window as a percentage of its oldest value
+     */
+    public double percentChange() {
+        if (isEmpty())
+            return Double.NaN;
+        double first = values.get(0);
+        return first == 0 ? 0.0 : (values.last() - first) / first * 100.0;
+    }
+
+    public double sma() {
+        return isEmpty() ? Double.NaN : sum / values.size();
+    }
+
+    public double ema() {
+        return isEmpty() ? Double.NaN : ema;
+    }
+
+    /**
+     * @return Sample standard deviation of log returns, in percent per
+     *         observation; 0 until there are two returns
+     */
+    public double volatility() {
+        int n = returnCount;
+        if (n < 2)
+            return 0.0;
+        double variance = (returnSumSq - returnSum * returnSum / n) / (n - 1);
+        return Math.sqrt(Math.max(0.0, variance)) * 100.0;
+    }
+
+    private void pushReturn(double r) {
+        returns[(returnStart + returnCount) % returns.length] = r;
+        returnCount++;
+        returnSum += r;
+        returnSumSq += r * r;
+    }
+
+    private void popReturn() {
+        double r = returns[returnStart];
+        returnStart = (returnStart + 1) % returns.length;
+        returnCount--;
+        returnSum -= r;
+        returnSumSq -= r * r;
+    }
+
+    private static double logReturn(double from, double to) {
+        return from > 0 && to > 0 ? Math.log(to / from) : 0.0;
+    }
+}
@@ -0,0 +1,185 @@
+package com.chart;
+
+import com.metrics.Metrics;
+import com.rates.RateColumns;
+import com.rates.RateSeries;
+import com.server.RateStore;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local daily rate history with incremental backfill.
+ *
+ * Each pair remembers the contiguous day range it has already downloaded.
+ * A request only fetches the days on either side of that range, merges
+ * them into the store and answers from disk, so repeat chart loads make no
+ * network calls and a multi-year series is downloaded once. A range is
+ * only recorded as covered once its rows are written. Days before
+ * the current UTC day are final; today's rate is re-checked at most once
+ * per {@code rates.history.tailTtl} milliseconds (default 30 minutes).
+ */
+public final class TrendHistory {
+
+    private static final long TAIL_TTL_MILLIS = Long.getLong("rates.history.tailTtl", 30 * 60 * 1000L);
+
+    private TrendHistory() {
+    }
+
+    /**
+     * Several targets at once. Targets whose range is already on disk are
+     * read locally; the rest share one multi-target download, and only
+     * its unbroken runs of windows count as covered.
+     *
+     * @param base    Base currency, e.g., "USD"
+     * @param targets Target currencies, e.g., {"INR", "EUR"}
+     * @param start   First day, inclusive
+     * @param end     Last day, inclusive
+     * @return One column per target over the union of their quoted days
+     */
+    public static RateColumns getColumns(String base, String[] targets, LocalDate start, LocalDate end) {
+        int from = (int) start.toEpochDay();
+        int to = (int) end.toEpochDay();
+        int lastFinal = (int) LocalDate.now(ZoneOffset.UTC).toEpochDay() - 1;
+        long now = System.currentTimeMillis();
+
+        long[][] coverage = new long[targets.length][];
+        List<String> missing = new ArrayList<>();
+        for (int k = 0; k < targets.length; k++) {
+            coverage[k] = RateStore.loadCoverage(base, targets[k]);
+            if (!covers(coverage[k], from, to, lastFinal, now))
+                missing.add(targets[k]);
+        }
+
+        RateColumns fetched = null;
+        long[] covered = null;
+        if (!missing.isEmpty()) {
+            CurrencyFetcher.ColumnDownload download = CurrencyFetcher.downloadColumns(base,
+                    missing.toArray(new String[0]), start, end);
+            if (!download.isEmpty()) {
+                fetched = download.getColumns();
+                covered = coveredRun(download, from, to, lastFinal, now);
+            }
+        }
+
+        List<RateSeries> series = new ArrayList<>(targets.length);
+        for (int k = 0; k < targets.length; k++) {
+            RateSeries local = RateStore.loadHistory(base, targets[k], from, to);
+            int column = fetched == null ? -1 : fetched.indexOf(targets[k]);
+            if (column >= 0) {
+                RateSeries downloaded = fetched.series(column);
+                if (RateStore.saveHistory(downloaded) && covered != null)
+                    extendCoverage(base, targets[k], coverage[k], (int) covered[0], (int) covered[1], covered[2]);
+                local = RateSeries.merge(local, downloaded);
+            }
+            series.add(local);
+        }
+        return RateColumns.fromSeries(base, series);
+    }
+
+    /**
+     * @param base   Base currency, e.g., "USD"
+     * @param target Target currency, e.g., "INR"
+     * @param start  First day, inclusive
+     * @param end    Last day, inclusive
+     * @return Every known rate in the range; local data only if the provider is unreachable
+     */
+    public static RateSeries getSeries(String base, String target, LocalDate start, LocalDate end) {
+        int from = (int) start.toEpochDay();
+        int to = (int) end.toEpochDay();
+        // ECB rates are published mid-afternoon CET, so every earlier UTC day is settled
+        int lastFinal = (int) LocalDate.now(ZoneOffset.UTC).toEpochDay() - 1;
+        long now = System.currentTimeMillis();
+
+        long[] coverage = RateStore.loadCoverage(base, target);
+        RateSeries fetched = RateSeries.empty(base, target);
+        int first;
+        int last;
+        long checkedAt;
+
+        if (coverage == null) {
+            CurrencyFetcher.Download range = CurrencyFetcher.downloadSeries(base, target, start, end);
+            if (range.isEmpty())
+                return RateStore.loadHistory(base, target, from, to);
+            fetched = range.getSeries();
+            long[] covered = coveredRun(range, from, to, lastFinal, now);
+            // Coverage may only claim days that were written, or later calls would skip the download
+            if (!RateStore.saveHistory(fetched) || covered == null)
+                return RateSeries.merge(RateStore.loadHistory(base, target, from, to), fetched);
+            first = (int) covered[0];
+            last = (int) covered[1];
+            checkedAt = covered[2];
+        } else {
+            first = (int) coverage[0];
+            last = (int) coverage[1];
+            checkedAt = coverage[2];
+
+            if (from < first) {
+                CurrencyFetcher.Download head = CurrencyFetcher.downloadSeries(base, target,
+                        LocalDate.ofEpochDay(from), LocalDate.ofEpochDay(first - 1));
+                fetched = head.getSeries();
+                first = Math.min(first, head.completeFrom());
+            }
+
+            // Only today's possibly unpublished rate is missing; don't ask again too soon
+            boolean tailOnly = last >= lastFinal;
+            if (to > last && !(tailOnly && now - checkedAt < TAIL_TTL_MILLIS)) {
+                CurrencyFetcher.Download tail = CurrencyFetcher.downloadSeries(base, target,
+                        LocalDate.ofEpochDay(last + 1), end);
+                fetched = RateSeries.merge(fetched, tail.getSeries());
+                last = Math.max(last, Math.min(tail.completeThrough(), lastFinal));
+                if (tail.isComplete())
+                    checkedAt = now;
+            }
+
+            if (first == coverage[0] && last == coverage[1] && checkedAt == coverage[2] && fetched.isEmpty()) {
+                Metrics.counter("trend.history.localHits").increment();
+                return RateStore.loadHistory(base, target, from, to);
+            }
+            if (!RateStore.saveHistory(fetched))
+                return RateSeries.merge(RateStore.loadHistory(base, target, from, to), fetched.slice(from, to));
+        }
+
+        RateStore.saveCoverage(base, target, first, last, checkedAt);
+
+        // Merge rather than trust the write, so a read-only store still serves the download
+        return RateSeries.merge(RateStore.loadHistory(base, target, from, to), fetched.slice(from, to));
+    }
+
+    private static boolean covers(long[] coverage, int from, int to, int lastFinal, long now) {
+        if (coverage == null || coverage[0] > from)
+            return false;
+        if (to <= coverage[1])
+            return true;
+        return coverage[1] >= lastFinal && now - coverage[2] < TAIL_TTL_MILLIS;
+    }
+
+    /**
+     * Covered range must be contiguous; prefers the run that reaches the most
+     * recent day.
+     *
+     * @return {first, last, checkedAt}, or null if neither end of the range arrived
+     */
+    private static long[] coveredRun(CurrencyFetcher.Chunks range, int from, int to, int lastFinal, long now) {
+        if (range.completeFrom() <= to) {
+            int first = range.completeFrom();
+            return new long[] { first, Math.max(first - 1, Math.min(to, lastFinal)), now };
+        }
+        if (range.completeThrough() >= from)
+            return new long[] { from, Math.max(from - 1, Math.min(range.completeThrough(), lastFinal)), 0L };
+        return null;
+    }
+
+    // Joins a freshly downloaded range to the stored one when they touch, otherwise replaces it
+    private static void extendCoverage(String base, String target, long[] coverage, int first, int last,
+            long checkedAt) {
+        if (coverage != null && coverage[0] <= last + 1 && coverage[1] >= first - 1) {
+            first = (int) Math.min(first, coverage[0]);
+            last = (int) Math.max(last, coverage[1]);
+            checkedAt = Math.max(checkedAt, coverage[2]);
+        }
+        RateStore.saveCoverage(base, target, first, last, checkedAt);
+    }
+}
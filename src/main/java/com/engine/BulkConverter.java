@@ -0,0 +1,329 @@
+package com.engine;
+
+import com.rates.RateMatrix;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams a CSV ledger of {@code amount,from,to[,date]} rows through the
+ * converter and writes each row back as {@code amount,from,to,date,converted},
+ * with the date left empty where the input had none, so the converted amount
+ * is always the fifth column.
+ *
+ * Rows are read in fixed-size chunks that are converted in parallel and
+ * written in input order. Only a bounded number of chunks is ever in memory,
+ * so memory use does not grow with the file. Every row is resolved against
+ * the single rate snapshot taken when the run starts; the optional date
+ * column is passed through unchanged. A run refuses the built-in mock rates
+ * unless it was created to allow them.
+ */
+public class BulkConverter {
+
+    /** Outcome of one run. */
+    public static final class Result {
+        private final long rows;
+        private final long errors;
+        private final long elapsedNanos;
+        private final boolean mockRates;
+        private final long ratesFetchedAt;
+
+        Result(long rows, long errors, long elapsedNanos, RateMatrix matrix) {
+            this.rows = rows;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.mockRates = ConversionEngine.isMock(matrix);
+            this.ratesFetchedAt = matrix.getSource().getFetchedAt();
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : rows * 1e9 / elapsedNanos;
+        }
+
+        /** Whether every row was converted at the built-in mock rates. */
+        public boolean isMockRates() {
+            return mockRates;
+        }
+
+        /** When the provider quoted the rates used, in epoch millis; 0 for mock rates. */
+        public long getRatesFetchedAt() {
+            return ratesFetchedAt;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d rows (%d errors) in %.2f s, %.0f rows/s, %s",
+                    rows, errors, elapsedNanos / 1e9, getRowsPerSecond(),
+                    mockRates ? "mock rates" : "rates fetched " + Instant.ofEpochMilli(ratesFetchedAt));
+        }
+    }
+
+    private static final int DEFAULT_CHUNK_ROWS = 8192;
+    private static final String ERROR_VALUE = "#ERROR";
+
+    // Input columns every output row is padded or cut to
+    private static final String[] COLUMNS = { "amount", "from", "to", "date" };
+    private static final String[] NO_NAMES = { "", "", "", "" };
+
+    private final ConversionEngine engine;
+    private final RoundingMode rounding;
+    private final int chunkRows;
+    private final int threads;
+    private final boolean allowMockRates;
+
+    public BulkConverter(ConversionEngine engine) {
+        this(engine, false);
+    }
+
+    /**
+     * @param allowMockRates Whether to convert at the built-in mock rates
+     *                       when no provider rates have ever loaded
+     */
+    public BulkConverter(ConversionEngine engine, boolean allowMockRates) {
+        this(engine, RoundingMode.HALF_EVEN, DEFAULT_CHUNK_ROWS, Runtime.getRuntime().availableProcessors(),
+                allowMockRates);
+    }
+
+    public BulkConverter(ConversionEngine engine, RoundingMode rounding, int chunkRows, int threads) {
+        this(engine, rounding, chunkRows, threads, false);
+    }
+
+    public BulkConverter(ConversionEngine engine, RoundingMode rounding, int chunkRows, int threads,
+            boolean allowMockRates) {
+        this.engine = engine;
+        this.rounding = rounding;
+        this.chunkRows = chunkRows;
+        this.threads = threads;
+        this.allowMockRates = allowMockRates;
+    }
+
+    /**
+     * Converts every row of {@code in} into {@code out}. A header line, if
+     * present, is copied with a "converted" column added. Rows that cannot
+     * be parsed, have more than four columns, or name a pair with no usable
+     * rate are written with {@value #ERROR_VALUE} as the converted value.
+     *
+     * @throws IOException if only mock rates are available and they are not
+     *                     allowed, or on a read or write failure
+     */
+    public Result convert(BufferedReader in, Writer out) throws IOException {
+        long start = System.nanoTime();
+
+        // One snapshot for the whole run
+        RateMatrix matrix = engine.getMatrix();
+        if (ConversionEngine.isMock(matrix) && !allowMockRates)
+            throw new IOException("No provider rates available; refusing to convert at mock rates");
+        long[] fixedRates = ConversionEngine.fixedRates(matrix);
+        int n = Currencies.size();
+
+        String first = in.readLine();
+        if (first == null)
+            return new Result(0, 0, System.nanoTime() - start, matrix);
+
+        List<String> pending = new ArrayList<>(chunkRows);
+        if (isHeader(first)) {
+            StringBuilder header = new StringBuilder(first.length() + 16);
+            appendColumns(header, first, splitFields(first, new String[COLUMNS.length + 1]), COLUMNS);
+            header.append("converted\n");
+            out.write(header.toString());
+        } else {
+            pending.add(first);
+        }
+
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "bulk-convert-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        // Bounded window of chunks in flight keeps memory flat
+        ArrayDeque<Future<Chunk>> window = new ArrayDeque<>();
+        int maxInFlight = threads * 2;
+        long rows = 0;
+        long errors = 0;
+
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty())
+                    continue;
+                pending.add(line);
+                if (pending.size() == chunkRows) {
+                    List<String> lines = pending;
+                    window.add(pool.submit(() -> convertChunk(lines, fixedRates, n)));
+                    pending = new ArrayList<>(chunkRows);
+                    if (window.size() >= maxInFlight) {
+                        Chunk done = await(window.poll());
+                        out.write(done.text.toString());
+                        rows += done.rows;
+                        errors += done.errors;
+                    }
+                }
+            }
+            if (!pending.isEmpty()) {
+                List<String> lines = pending;
+                window.add(pool.submit(() -> convertChunk(lines, fixedRates, n)));
+            }
+            while (!window.isEmpty()) {
+                Chunk done = await(window.poll());
+                out.write(done.text.toString());
+                rows += done.rows;
+                errors += done.errors;
+            }
+            out.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Result(rows, errors, System.nanoTime() - start, matrix);
+    }
+
+    private static final class Chunk {
+        final StringBuilder text;
+        int rows;
+        int errors;
+
+        Chunk(int capacity) {
+            text = new StringBuilder(capacity);
+        }
+    }
+
+    private Chunk convertChunk(List<String> lines, long[] fixedRates, int n) {
+        Chunk chunk = new Chunk(lines.size() * 48);
+        String[] fields = new String[COLUMNS.length + 1];
+        for (String line : lines) {
+            chunk.rows++;
+            StringBuilder text = chunk.text;
+            int count = splitFields(line, fields);
+            appendColumns(text, line, count, NO_NAMES);
+            try {
+                if (count < 3 || count > COLUMNS.length)
+                    throw new IllegalArgumentException("Expected amount,from,to[,date]");
+                CurrencyInfo source = Currencies.get(fields[1].trim());
+                CurrencyInfo target = Currencies.get(fields[2].trim());
+                if (source == null || target == null)
+                    throw new IllegalArgumentException("Unsupported currency");
+
+                long rate = fixedRates[source.getOrdinal() * n + target.getOrdinal()];
+                if (rate == ConversionEngine.NO_RATE)
+                    throw new IllegalArgumentException("No usable rate");
+
+                long minor = Money.parse(fields[0].trim(), source.getScale(), rounding);
+                long converted = Money.convert(minor, source.getScale(), rate, target.getScale(), rounding);
+                MoneyFormat.PLAIN.format(converted, target.getScale(), text);
+            } catch (RuntimeException e) {
+                chunk.errors++;
+                text.append(ERROR_VALUE);
+            }
+            text.append('\n');
+        }
+        return chunk;
+    }
+
+    // Copies a row as exactly four columns plus a trailing comma, padding with names[k]
+    private static void appendColumns(StringBuilder text, String line, int count, String[] names) {
+        if (count > COLUMNS.length) {
+            text.append(line, 0, prefixEnd(line, COLUMNS.length));
+        } else {
+            text.append(line);
+            for (int k = count; k < COLUMNS.length; k++)
+                text.append(',').append(names[k]);
+        }
+        text.append(',');
+    }
+
+    // Length of the first n fields of a CSV line, quotes included, without the comma after them
+    static int prefixEnd(String line, int n) {
+        int len = line.length();
+        int i = 0;
+        for (int k = 0; k < n; k++) {
+            int from = i;
+            if (i < len && line.charAt(i) == '"') {
+                int close = line.indexOf('"', i + 1);
+                from = close < 0 ? len : close;
+            }
+            int comma = line.indexOf(',', from);
+            if (comma < 0)
+                return len;
+            if (k == n - 1)
+                return comma;
+            i = comma + 1;
+        }
+        return len;
+    }
+
+    // Splits one CSV line into at most fields.length fields, honouring quotes
+    static int splitFields(String line, String[] fields) {
+        int count = 0;
+        int i = 0;
+        int len = line.length();
+        while (i <= len && count < fields.length) {
+            if (i < len && line.charAt(i) == '"') {
+                int end = line.indexOf('"', i + 1);
+                if (end < 0)
+                    end = len;
+                fields[count++] = line.substring(i + 1, end);
+                i = line.indexOf(',', end);
+                if (i < 0)
+                    break;
+                i++;
+            } else {
+                int end = line.indexOf(',', i);
+                if (end < 0)
+                    end = len;
+                fields[count++] = line.substring(i, end);
+                i = end + 1;
+            }
+        }
+        return count;
+    }
+
+    // A header names its first column; any digit means it holds an amount, e.g., "100."
+    private static boolean isHeader(String line) {
+        String[] fields = new String[1];
+        if (splitFields(line, fields) == 0)
+            return false;
+        String amount = fields[0].trim();
+        if (amount.isEmpty())
+            return false;
+        for (int i = 0; i < amount.length(); i++) {
+            if (Character.isDigit(amount.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    private static Chunk await(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during bulk conversion", e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+}
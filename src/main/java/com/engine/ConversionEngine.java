@@ -0,0 +1,336 @@
+package com.engine;
+
+import com.metrics.Counter;
+import com.metrics.LatencyHistogram;
+import com.metrics.Metrics;
+import com.rates.CircuitBreaker;
+import com.rates.RateCache;
+import com.rates.RateFeed;
+import com.rates.RateHttpClient;
+import com.rates.RateMatrix;
+import com.rates.RateParser;
+import com.rates.RateRefresher;
+import com.rates.RateTable;
+import com.rates.SingleFlight;
+import com.server.RateStore;
+
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Headless, thread-safe currency conversion.
+ *
+ * Every pair is derived from one USD table kept warm by a background
+ * refresher. When the provider is unreachable, conversions fall back to the
+ * last good table (in memory or restored from disk) and finally to a
+ * built-in mock table, so lookups never fail for supported currencies.
+ */
+public class ConversionEngine {
+
+    private static final String RATE_API_HOST = "api.exchangerate-api.com";
+    private static final long RATE_API_DEADLINE = 5000;
+
+    // One table quoted against this base is enough to derive every pair
+    private static final String PIVOT_CURRENCY = "USD";
+
+    private static final long SOFT_TTL_MILLIS = Long.getLong("rates.cache.softTtl", 5 * 60 * 1000L);
+    private static final long REFRESH_INTERVAL_MILLIS = Long.getLong("rates.refresh.interval", 4 * 60 * 1000L);
+
+    // Offline fallback rates, quoted per 1 USD
+    private static final RateMatrix MOCK_MATRIX;
+    static {
+        Map<String, Double> usdRates = new HashMap<>();
+        usdRates.put("EUR", 0.85);
+        usdRates.put("GBP", 0.73);
+        usdRates.put("JPY", 110.0);
+        usdRates.put("INR", 83.25);
+        usdRates.put("CAD", 1.25);
+        usdRates.put("AUD", 1.35);
+        usdRates.put("CHF", 0.92);
+        usdRates.put("CNY", 6.45);
+        usdRates.put("SEK", 8.75);
+        usdRates.put("NZD", 1.42);
+        usdRates.put("BRL", 5.2);
+        usdRates.put("RUB", 74.5);
+        usdRates.put("KRW", 1180.0);
+        usdRates.put("SGD", 1.35);
+        MOCK_MATRIX = RateMatrix.build(new RateTable(PIVOT_CURRENCY, usdRates, 0L), Currencies.codes());
+    }
+
+    private static final LatencyHistogram FETCH_LATENCY = Metrics.histogram("rates.fetch", "provider", RATE_API_HOST);
+    private static final Counter LAST_GOOD_FALLBACKS = Metrics.counter("rates.fallback", "source", "lastGood");
+    private static final Counter MOCK_FALLBACKS = Metrics.counter("rates.fallback", "source", "mock");
+
+    // Marks a cell of fixedRates() whose rate has no fixed-point form
+    static final long NO_RATE = -1;
+
+    private static final ConversionEngine SHARED = new ConversionEngine(RateCache.shared());
+
+    static {
+        Metrics.gauge("rates.cache.hitRatio", () -> SHARED.cache.getHitRatio());
+        Metrics.gauge("rates.cache.size", () -> SHARED.cache.size());
+        Metrics.gauge("rates.fetch.inFlight", () -> SHARED.fetches.inFlightCount());
+    }
+
+    private final String[] codes = Currencies.codes();
+    private final RateCache cache;
+
+    // Outstanding rate-table downloads, keyed by base currency
+    private final SingleFlight<String, RateTable> fetches = new SingleFlight<>();
+
+    // Keeps the pivot table warm; stale tables are served while one refresh runs
+    private final RateRefresher refresher;
+
+    // Fans each refresh out to UI panels and streaming clients
+    private final RateFeed feed = new RateFeed();
+
+    // Cross rates from the last good pivot table, live or restored from disk
+    private volatile RateMatrix liveMatrix;
+    private boolean refreshing;
+
+    public ConversionEngine(RateCache cache) {
+        this(cache, null);
+    }
+
+    // A null loader fetches from the provider; tests pass their own
+    ConversionEngine(RateCache cache, RateRefresher.Loader loader) {
+        this.cache = cache;
+        this.refresher = new RateRefresher(cache, loader != null ? loader : this::loadRateTable, SOFT_TTL_MILLIS);
+        this.refresher.addRefreshListener(this::publish);
+    }
+
+    public static ConversionEngine shared() {
+        return SHARED;
+    }
+
+    /**
+     * Seeds the cache and fallback rates from the last persisted snapshot.
+     * However old, the snapshot is served without waiting on the network
+     * until the first refresh succeeds. May run alongside conversions; a
+     * snapshot older than rates already fetched is ignored.
+     */
+    public void restoreSnapshot() {
+        RateTable stored = RateStore.loadSnapshot(PIVOT_CURRENCY);
+        if (stored != null)
+            restore(stored);
+    }
+
+    void restore(RateTable stored) {
+        if (refresher.seed(stored))
+            publish(stored);
+    }
+
+    /**
+     * Starts keeping the pivot table warm in the background. Idempotent.
+     */
+    public synchronized void startRefreshing() {
+        if (refreshing)
+            return;
+        refreshing = true;
+        refresher.start(Collections.singletonList(PIVOT_CURRENCY), REFRESH_INTERVAL_MILLIS);
+    }
+
+    public void stop() {
+        refresher.stop();
+    }
+
+    /**
+     * Returns the best cross-rate matrix available right now. Bulk callers
+     * should take one matrix and resolve every row against it, so all rows
+     * see the same snapshot.
+     */
+    public RateMatrix getMatrix() {
+        try {
+            RateTable table = refresher.get(PIVOT_CURRENCY);
+            RateMatrix matrix = liveMatrix;
+            if (matrix == null || matrix.getSource() != table) {
+                matrix = RateMatrix.build(table, codes);
+                liveMatrix = matrix;
+            }
+            return matrix;
+        } catch (IOException e) {
+            RateMatrix lastGood = liveMatrix;
+            if (lastGood != null) {
+                LAST_GOOD_FALLBACKS.increment();
+                return lastGood;
+            }
+            MOCK_FALLBACKS.increment();
+            return MOCK_MATRIX;
+        }
+    }
+
+    /**
+     * @param from Source currency, e.g., "USD"
+     * @param to   Target currency, e.g., "INR"
+     * @return Units of {@code to} per one unit of {@code from}
+     * @throws IllegalArgumentException if either currency is not supported
+     */
+    public double getRate(String from, String to) {
+        int i = requireIndex(from);
+        int j = requireIndex(to);
+        if (i == j)
+            return 1.0;
+        return rate(getMatrix(), i, j);
+    }
+
+    public double convert(double amount, String from, String to) {
+        return amount * getRate(from, to);
+    }
+
+    /**
+     * Converts every amount from one currency to another at a single rate.
+     */
+    public void convertAll(double[] amounts, String from, String to, double[] out) {
+        double rate = getRate(from, to);
+        for (int k = 0; k < amounts.length; k++)
+            out[k] = amounts[k] * rate;
+    }
+
+    /**
+     * Converts mixed pairs row by row against one consistent snapshot.
+     *
+     * @param amounts Amounts in their source currency
+     * @param from    Source currency ordinal per row, see {@link Currencies}
+     * @param to      Target currency ordinal per row
+     * @param out     Receives the converted amounts
+     */
+    public void convertAll(double[] amounts, int[] from, int[] to, double[] out) {
+        RateMatrix matrix = getMatrix();
+        for (int k = 0; k < amounts.length; k++)
+            out[k] = amounts[k] * rate(matrix, from[k], to[k]);
+    }
+
+    /**
+     * Converts an amount in minor units, e.g., cents, with exact rounding.
+     *
+     * @return Amount in the target currency's minor units
+     */
+    public long convertMinor(long minor, String from, String to, RoundingMode mode) {
+        CurrencyInfo source = require(from);
+        CurrencyInfo target = require(to);
+        return Money.convert(minor, source.getScale(), getRate(from, to), target.getScale(), mode);
+    }
+
+    /**
+     * Converts minor-unit amounts for mixed pairs against one snapshot
+     * without allocating per row.
+     *
+     * @param minors Amounts in their source currency's minor units
+     * @param from   Source currency ordinal per row, see {@link Currencies}
+     * @param to     Target currency ordinal per row
+     * @param mode   How to round each result
+     * @param out    Receives the target minor units
+     */
+    public void convertAllMinor(long[] minors, int[] from, int[] to, RoundingMode mode, long[] out) {
+        int n = Currencies.size();
+        long[] fixed = fixedRates(getMatrix());
+        for (int k = 0; k < minors.length; k++) {
+            int i = from[k];
+            int j = to[k];
+            if (fixed[i * n + j] == NO_RATE)
+                throw new IllegalArgumentException("No usable rate for " + Currencies.at(i).getCode() + " to "
+                        + Currencies.at(j).getCode());
+            out[k] = Money.convert(minors[k], Currencies.at(i).getScale(), fixed[i * n + j],
+                    Currencies.at(j).getScale(), mode);
+        }
+    }
+
+    // Fixed-point copy of the matrix, flattened row-major; NO_RATE marks a cross rate that is NaN or out of range
+    static long[] fixedRates(RateMatrix matrix) {
+        int n = matrix.size();
+        long[] fixed = new long[n * n];
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++) {
+                try {
+                    fixed[i * n + j] = Money.rateToFixed(rate(matrix, i, j));
+                } catch (IllegalArgumentException e) {
+                    fixed[i * n + j] = NO_RATE;
+                }
+            }
+        return fixed;
+    }
+
+    /**
+     * @return Whether {@code matrix} is the built-in offline table rather
+     *         than rates from the provider
+     */
+    public static boolean isMock(RateMatrix matrix) {
+        return matrix == MOCK_MATRIX;
+    }
+
+    public RateFeed getFeed() {
+        return feed;
+    }
+
+    public RateCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Resolves one cell of a matrix taken from {@link #getMatrix()}; pairs
+     * the live table does not quote fall back to the mock table.
+     *
+     * @param from Source currency ordinal, see {@link Currencies}
+     * @param to   Target currency ordinal
+     */
+    public static double rate(RateMatrix matrix, int from, int to) {
+        double rate = matrix.rate(from, to);
+        if (Double.isNaN(rate) && matrix != MOCK_MATRIX) {
+            MOCK_FALLBACKS.increment();
+            rate = MOCK_MATRIX.rate(from, to);
+        }
+        return Double.isNaN(rate) ? 1.0 : rate;
+    }
+
+    // Tables can arrive out of order, e.g., a restored snapshot after a fetch
+    private synchronized void publish(RateTable table) {
+        RateMatrix current = liveMatrix;
+        if (current != null && current.getSource().getFetchedAt() > table.getFetchedAt())
+            return;
+        RateMatrix matrix = RateMatrix.build(table, codes);
+        liveMatrix = matrix;
+        feed.publish(matrix);
+    }
+
+    private static CurrencyInfo require(String code) {
+        CurrencyInfo info = Currencies.get(code);
+        if (info == null)
+            throw new IllegalArgumentException("Currency not supported: " + code);
+        return info;
+    }
+
+    private static int requireIndex(String code) {
+        int index = Currencies.indexOf(code);
+        if (index < 0)
+            throw new IllegalArgumentException("Currency not supported: " + code);
+        return index;
+    }
+
+    // Concurrent loads for the same base share one download
+    private RateTable loadRateTable(String base) throws IOException {
+        return fetches.execute(base, () -> {
+            long start = System.nanoTime();
+            RateTable fetched;
+            try {
+                fetched = fetchRateTable(base);
+            } finally {
+                FETCH_LATENCY.recordSince(start);
+            }
+            RateStore.saveSnapshot(fetched);
+            return fetched;
+        });
+    }
+
+    // Downloads the table for one base so every target can be served from cache
+    private RateTable fetchRateTable(String base) throws IOException {
+        String apiUrl = "https://" + RATE_API_HOST + "/v4/latest/" + base;
+
+        // Only the currencies we list are kept; the rest of the table is skipped
+        return CircuitBreaker.forHost(RATE_API_HOST).execute(() -> RateHttpClient.shared().get(apiUrl,
+                in -> RateParser.parseRateTable(in, base, codes, System.currentTimeMillis()),
+                RATE_API_DEADLINE));
+    }
+}
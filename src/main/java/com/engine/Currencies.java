@@ -0,0 +1,77 @@
+package com.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the currencies the converter supports, in display order.
+ */
+public final class Currencies {
+
+    private static final Map<String, CurrencyInfo> BY_CODE = new LinkedHashMap<>();
+    static {
+        add("USD", "🇺🇸", "United States Dollar", "$", 2);
+        add("EUR", "🇪🇺", "Euro", "€", 2);
+        add("GBP", "🇬🇧", "British Pound Sterling", "£", 2);
+        add("JPY", "🇯🇵", "Japanese Yen", "¥", 0);
+        add("AUD", "🇦🇺", "Australian Dollar", "A$", 2);
+        add("CAD", "🇨🇦", "Canadian Dollar", "C$", 2);
+        add("CHF", "🇨🇭", "Swiss Franc", "Fr", 2);
+        add("CNY", "🇨🇳", "Chinese Yuan", "¥", 2);
+        add("SEK", "🇸🇪", "Swedish Krona", "kr", 2);
+        add("NZD", "🇳🇿", "New Zealand Dollar", "NZ$", 2);
+        add("INR", "🇮🇳", "Indian Rupee", "₹", 2);
+        add("BRL", "🇧🇷", "Brazilian Real", "R$", 2);
+        add("RUB", "🇷🇺", "Russian Ruble", "₽", 2);
+        add("KRW", "🇰🇷", "South Korean Won", "₩", 0);
+        add("SGD", "🇸🇬", "Singapore Dollar", "S$", 2);
+    }
+
+    private static final String[] CODES = BY_CODE.keySet().toArray(new String[0]);
+    private static final List<CurrencyInfo> ALL = Collections.unmodifiableList(new ArrayList<>(BY_CODE.values()));
+
+    private Currencies() {
+    }
+
+    private static void add(String code, String flag, String name, String symbol, int scale) {
+        BY_CODE.put(code, new CurrencyInfo(code, flag, name, symbol, scale, BY_CODE.size()));
+    }
+
+    /**
+     * @return A copy of the supported codes in ordinal order
+     */
+    public static String[] codes() {
+        return CODES.clone();
+    }
+
+    public static List<CurrencyInfo> all() {
+        return ALL;
+    }
+
+    public static int size() {
+        return CODES.length;
+    }
+
+    /**
+     * @return The currency, or null if {@code code} is not supported
+     */
+    public static CurrencyInfo get(String code) {
+        return BY_CODE.get(code);
+    }
+
+    public static CurrencyInfo at(int ordinal) {
+        return ALL.get(ordinal);
+    }
+
+    public static boolean isSupported(String code) {
+        return BY_CODE.containsKey(code);
+    }
+
+    public static int indexOf(String code) {
+        CurrencyInfo info = BY_CODE.get(code);
+        return info != null ? info.getOrdinal() : -1;
+    }
+}
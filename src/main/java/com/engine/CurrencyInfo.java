@@ -0,0 +1,49 @@
+package com.engine;
+
+/**
+ * Display and indexing data for one supported currency.
+ */
+public final class CurrencyInfo {
+
+    private final String code;
+    private final String flag;
+    private final String name;
+    private final String symbol;
+    private final int scale;
+    private final int ordinal;
+
+    CurrencyInfo(String code, String flag, String name, String symbol, int scale, int ordinal) {
+        this.code = code;
+        this.flag = flag;
+        this.name = name;
+        this.symbol = symbol;
+        this.scale = scale;
+        this.ordinal = ordinal;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getFlag() {
+        return flag;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    // Digits after the decimal point in the minor unit, e.g., 2 for cents
+    public int getScale() {
+        return scale;
+    }
+
+    // Position in Currencies.codes() and in every RateMatrix built from it
+    public int getOrdinal() {
+        return ordinal;
+    }
+}
@@ -0,0 +1,245 @@
+package com.engine;
+
+import java.math.RoundingMode;
+
+/**
+ * An amount held as a whole number of minor units, e.g., cents.
+ *
+ * The static methods are the allocation-free core used on the bulk path:
+ * they take and return primitive {@code long} minor units and round at an
+ * explicit {@link RoundingMode}. Rates are applied in fixed point with
+ * {@value #RATE_SCALE} decimal places and a 128-bit intermediate product,
+ * so results are exact for a given rate and reproducible across runs.
+ */
+public final class Money {
+
+    /** Decimal places kept when a rate is turned into fixed point. */
+    public static final int RATE_SCALE = 12;
+
+    private static final long[] POW10 = new long[19];
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++)
+            POW10[i] = POW10[i - 1] * 10;
+    }
+
+    // Largest power of ten that keeps limb-by-limb division inside 64 bits
+    private static final int DIVISION_STEP = 9;
+
+    private final long minor;
+    private final CurrencyInfo currency;
+
+    public Money(long minor, CurrencyInfo currency) {
+        this.minor = minor;
+        this.currency = currency;
+    }
+
+    /**
+     * @param text     Amount such as "1,234.56"
+     * @param currency Currency whose scale applies
+     * @throws NumberFormatException if {@code text} is not a plain decimal
+     */
+    public static Money parse(CharSequence text, CurrencyInfo currency, RoundingMode mode) {
+        return new Money(parse(text, currency.getScale(), mode), currency);
+    }
+
+    public long getMinor() {
+        return minor;
+    }
+
+    public CurrencyInfo getCurrency() {
+        return currency;
+    }
+
+    /**
+     * @return This amount in {@code target} at {@code rate}, rounded by
+     *         {@code mode}
+     */
+    public Money convert(CurrencyInfo target, double rate, RoundingMode mode) {
+        return new Money(convert(minor, currency.getScale(), rateToFixed(rate), target.getScale(), mode), target);
+    }
+
+    public double toDouble() {
+        return (double) minor / POW10[currency.getScale()];
+    }
+
+    @Override
+    public String toString() {
+        return MoneyFormat.DEFAULT.format(minor, currency.getScale()) + " " + currency.getCode();
+    }
+
+    /**
+     * Parses a decimal amount into minor units without allocating.
+     * Grouping commas are ignored; surplus fraction digits are rounded.
+     *
+     * @throws NumberFormatException if {@code text} is not a plain decimal
+     */
+    public static long parse(CharSequence text, int scale, RoundingMode mode) {
+        int len = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (len > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+
+        long unscaled = 0;
+        int fractionDigits = -1;
+        boolean anyDigit = false;
+        for (; i < len; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (unscaled > (Long.MAX_VALUE - 9) / 10)
+                    throw new NumberFormatException("Amount too large: " + text);
+                unscaled = unscaled * 10 + (c - '0');
+                anyDigit = true;
+                if (fractionDigits >= 0)
+                    fractionDigits++;
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (c != ',' || fractionDigits >= 0) {
+                throw new NumberFormatException("Invalid amount: " + text);
+            }
+        }
+        if (!anyDigit)
+            throw new NumberFormatException("Invalid amount: " + text);
+
+        int digits = Math.max(fractionDigits, 0);
+        if (digits - scale >= POW10.length)
+            throw new NumberFormatException("Too many decimal places: " + text);
+        long magnitude;
+
+        if (digits <= scale) {
+            magnitude = Math.multiplyExact(unscaled, POW10[scale - digits]);
+        } else {
+            long divisor = POW10[digits - scale];
+            magnitude = round(unscaled / divisor, unscaled % divisor, divisor, negative, mode);
+        }
+        return negative ? -magnitude : magnitude;
+    }
+
+    /**
+     * @return {@code rate} in fixed point with {@link #RATE_SCALE} places
+     */
+    public static long rateToFixed(double rate) {
+        if (!(rate >= 0) || rate * POW10[RATE_SCALE] >= Long.MAX_VALUE)
+            throw new IllegalArgumentException("Unusable rate: " + rate);
+        return Math.round(rate * POW10[RATE_SCALE]);
+    }
+
+    /**
+     * Converts minor units between currencies without allocating.
+     *
+     * @param minor     Amount in the source currency's minor units
+     * @param fromScale Source currency scale
+     * @param rateFixed Rate from {@link #rateToFixed(double)}
+     * @param toScale   Target currency scale
+     * @param mode      How to round the last kept digit
+     * @return Amount in the target currency's minor units
+     * @throws ArithmeticException if the result overflows or {@code mode} is
+     *                             UNNECESSARY and rounding was needed
+     */
+    public static long convert(long minor, int fromScale, long rateFixed, int toScale, RoundingMode mode) {
+        if (minor == Long.MIN_VALUE)
+            throw new ArithmeticException("Amount out of range");
+        boolean negative = minor < 0;
+        long a = Math.abs(minor);
+
+        // 128-bit product |minor| * rate, both operands non-negative
+        long hi = multiplyHigh(a, rateFixed);
+        long lo = a * rateFixed;
+
+        int shift = RATE_SCALE + fromScale - toScale;
+        if (shift < 0)
+            throw new ArithmeticException("Target scale too large");
+
+        // Divide by 10^shift in steps, tracking the combined remainder
+        long remainder = 0;
+        long divisor = 1;
+        while (shift > 0) {
+            int step = Math.min(shift, DIVISION_STEP);
+            long d = POW10[step];
+
+            long q3 = Long.divideUnsigned(hi >>> 32, d);
+            long r = Long.remainderUnsigned(hi >>> 32, d);
+            long cur = (r << 32) | (hi & 0xFFFFFFFFL);
+            long q2 = Long.divideUnsigned(cur, d);
+            r = Long.remainderUnsigned(cur, d);
+            cur = (r << 32) | (lo >>> 32);
+            long q1 = Long.divideUnsigned(cur, d);
+            r = Long.remainderUnsigned(cur, d);
+            cur = (r << 32) | (lo & 0xFFFFFFFFL);
+            long q0 = Long.divideUnsigned(cur, d);
+            r = Long.remainderUnsigned(cur, d);
+
+            hi = (q3 << 32) | q2;
+            lo = (q1 << 32) | q0;
+            remainder += r * divisor;
+            divisor *= d;
+            shift -= step;
+        }
+
+        if (hi != 0 || lo < 0)
+            throw new ArithmeticException("Converted amount overflows");
+        long magnitude = round(lo, remainder, divisor, negative, mode);
+        return negative ? -magnitude : magnitude;
+    }
+
+    /**
+     * Convenience form of {@link #convert(long, int, long, int, RoundingMode)}
+     * taking a double rate.
+     */
+    public static long convert(long minor, int fromScale, double rate, int toScale, RoundingMode mode) {
+        return convert(minor, fromScale, rateToFixed(rate), toScale, mode);
+    }
+
+    // Rounds a non-negative quotient given its remainder
+    private static long round(long quotient, long remainder, long divisor, boolean negative, RoundingMode mode) {
+        if (remainder == 0)
+            return quotient;
+
+        boolean up;
+        switch (mode) {
+            case UP:
+                up = true;
+                break;
+            case DOWN:
+                up = false;
+                break;
+            case CEILING:
+                up = !negative;
+                break;
+            case FLOOR:
+                up = negative;
+                break;
+            case UNNECESSARY:
+                throw new ArithmeticException("Rounding necessary");
+            default:
+                int cmp = Long.compare(remainder, divisor - remainder);
+                if (cmp != 0)
+                    up = cmp > 0;
+                else if (mode == RoundingMode.HALF_UP)
+                    up = true;
+                else if (mode == RoundingMode.HALF_DOWN)
+                    up = false;
+                else
+                    up = (quotient & 1) == 1; // HALF_EVEN
+        }
+        return up ? Math.addExact(quotient, 1) : quotient;
+    }
+
+    // Math.multiplyHigh is Java 9+; same algorithm for non-negative operands
+    private static long multiplyHigh(long x, long y) {
+        long x1 = x >>> 32;
+        long x2 = x & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long y2 = y & 0xFFFFFFFFL;
+
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & 0xFFFFFFFFL;
+        long z0 = t >>> 32;
+        z1 += x2 * y1;
+        return x1 * y1 + z0 + (z1 >>> 32);
+    }
+}
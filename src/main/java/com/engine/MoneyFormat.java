@@ -0,0 +1,73 @@
+package com.engine;
+
+/**
+ * Formats minor-unit amounts as "#,##0.00"-style text.
+ *
+ * Instances are immutable and hold no per-call state, so one instance can
+ * be shared by every thread. The {@link StringBuilder} overloads append
+ * without allocating.
+ */
+public final class MoneyFormat {
+
+    /** Grouping separator value that disables grouping. */
+    public static final char NO_GROUPING = 0;
+
+    public static final MoneyFormat DEFAULT = new MoneyFormat(',', '.');
+
+    // No grouping, for machine-readable output such as CSV
+    public static final MoneyFormat PLAIN = new MoneyFormat(NO_GROUPING, '.');
+
+    private static final long[] POW10 = new long[19];
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++)
+            POW10[i] = POW10[i - 1] * 10;
+    }
+
+    private final char groupingSeparator;
+    private final char decimalSeparator;
+
+    public MoneyFormat(char groupingSeparator, char decimalSeparator) {
+        this.groupingSeparator = groupingSeparator;
+        this.decimalSeparator = decimalSeparator;
+    }
+
+    public String format(long minor, int scale) {
+        StringBuilder sb = new StringBuilder(24);
+        format(minor, scale, sb);
+        return sb.toString();
+    }
+
+    public String format(Money money) {
+        return format(money.getMinor(), money.getCurrency().getScale());
+    }
+
+    /**
+     * Appends {@code minor} with {@code scale} fraction digits to {@code out}.
+     */
+    public void format(long minor, int scale, StringBuilder out) {
+        if (minor == Long.MIN_VALUE)
+            throw new IllegalArgumentException("Amount out of range");
+        if (minor < 0)
+            out.append('-');
+        long magnitude = Math.abs(minor);
+
+        long whole = magnitude / POW10[scale];
+        long fraction = magnitude % POW10[scale];
+
+        int digits = 1;
+        while (digits < 19 && whole >= POW10[digits])
+            digits++;
+        for (int d = digits - 1; d >= 0; d--) {
+            out.append((char) ('0' + (whole / POW10[d]) % 10));
+            if (d > 0 && d % 3 == 0 && groupingSeparator != NO_GROUPING)
+                out.append(groupingSeparator);
+        }
+
+        if (scale > 0) {
+            out.append(decimalSeparator);
+            for (int d = scale - 1; d >= 0; d--)
+                out.append((char) ('0' + (fraction / POW10[d]) % 10));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic event count, cheap enough for hot paths.
+ */
+public class Counter extends Metric implements CounterMXBean {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name, String[] tags) {
+        super(name, tags);
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long n) {
+        count.add(n);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    String type() {
+        return "Counter";
+    }
+
+    @Override
+    void writeText(StringBuilder out, String id, String labels, boolean header) {
+        if (header)
+            out.append("# TYPE ").append(id).append("_total counter\n");
+
+        out.append(id).append("_total").append(labels).append(' ').append(getCount()).append('\n');
+    }
+}
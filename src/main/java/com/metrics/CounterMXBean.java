@@ -0,0 +1,6 @@
+package com.metrics;
+
+public interface CounterMXBean {
+
+    long getCount();
+}
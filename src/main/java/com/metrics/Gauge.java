@@ -0,0 +1,34 @@
+package com.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * A value sampled on demand, e.g., requests in flight or a cache hit ratio.
+ */
+public class Gauge extends Metric implements GaugeMXBean {
+
+    private final DoubleSupplier value;
+
+    Gauge(String name, String[] tags, DoubleSupplier value) {
+        super(name, tags);
+        this.value = value;
+    }
+
+    @Override
+    public double getValue() {
+        return value.getAsDouble();
+    }
+
+    @Override
+    String type() {
+        return "Gauge";
+    }
+
+    @Override
+    void writeText(StringBuilder out, String id, String labels, boolean header) {
+        if (header)
+            out.append("# TYPE ").append(id).append(" gauge\n");
+
+        out.append(id).append(labels).append(' ').append(getValue()).append('\n');
+    }
+}
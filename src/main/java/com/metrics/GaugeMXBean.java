@@ -0,0 +1,6 @@
+package com.metrics;
+
+public interface GaugeMXBean {
+
+    double getValue();
+}
@@ -0,0 +1,121 @@
+package com.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency distribution.
+ *
+ * Samples land in power-of-two microsecond buckets, so recording is a few
+ * atomic adds and percentiles are accurate to within a factor of two,
+ * which is enough to tell a 20 ms fetch from a 2 s one.
+ */
+public class LatencyHistogram extends Metric implements LatencyHistogramMXBean {
+
+    // Bucket i holds samples below 2^i microseconds; the last one is open-ended
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    LatencyHistogram(String name, String[] tags) {
+        super(name, tags);
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+        long micros = nanos / 1000;
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+        count.increment();
+        totalNanos.add(nanos);
+        if (nanos > maxNanos.get())
+            maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos}, taken from
+     * {@link System#nanoTime()}.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalNanos.sum() / 1e6 / n;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return percentileMillis(0.50);
+    }
+
+    @Override
+    public double getP95Millis() {
+        return percentileMillis(0.95);
+    }
+
+    @Override
+    public double getP99Millis() {
+        return percentileMillis(0.99);
+    }
+
+    /**
+     * @param q Quantile between 0 and 1
+     * @return Upper bound of the bucket holding the quantile, capped at the max
+     */
+    public double percentileMillis(double q) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0)
+            return 0;
+
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank && i < BUCKETS - 1)
+                return Math.min((1L << i) / 1e3, getMaxMillis());
+        }
+        return getMaxMillis();
+    }
+
+    @Override
+    String type() {
+        return "Histogram";
+    }
+
+    @Override
+    void writeText(StringBuilder out, String id, String labels, boolean header) {
+        String sep = labels.isEmpty() ? "{" : labels.substring(0, labels.length() - 1) + ",";
+        if (header)
+            out.append("# TYPE ").append(id).append("_seconds summary\n");
+        for (double q : new double[] { 0.5, 0.95, 0.99 }) {
+            out.append(id).append("_seconds").append(sep).append("quantile=\"").append(q).append("\"} ")
+                    .append(percentileMillis(q) / 1e3).append('\n');
+        }
+        out.append(id).append("_seconds_sum").append(labels).append(' ').append(totalNanos.sum() / 1e9).append('\n');
+        out.append(id).append("_seconds_count").append(labels).append(' ').append(getCount()).append('\n');
+        out.append(id).append("_seconds_max").append(labels).append(' ').append(getMaxMillis() / 1e3).append('\n');
+    }
+}
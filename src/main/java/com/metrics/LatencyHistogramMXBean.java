@@ -0,0 +1,16 @@
+package com.metrics;
+
+public interface LatencyHistogramMXBean {
+
+    long getCount();
+
+    double getMeanMillis();
+
+    double getMaxMillis();
+
+    double getP50Millis();
+
+    double getP95Millis();
+
+    double getP99Millis();
+}
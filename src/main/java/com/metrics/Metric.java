@@ -0,0 +1,38 @@
+package com.metrics;
+
+/**
+ * A named measurement with optional tags, e.g., {@code http.request}
+ * tagged {@code host=api.frankfurter.app}.
+ */
+public abstract class Metric {
+
+    private final String name;
+    private final String[] tags;
+
+    Metric(String name, String[] tags) {
+        if (tags.length % 2 != 0)
+            throw new IllegalArgumentException("Tags must be key/value pairs");
+        this.name = name;
+        this.tags = tags.clone();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    String[] tags() {
+        return tags;
+    }
+
+    /** JMX bean type, e.g., "Histogram". */
+    abstract String type();
+
+    /**
+     * Appends this metric in the Prometheus text format.
+     *
+     * @param id     Name with dots replaced, e.g., "http_request"
+     * @param labels Rendered tags including braces, or an empty string
+     * @param header Whether to emit the TYPE line, once per metric family
+     */
+    abstract void writeText(StringBuilder out, String id, String labels, boolean header);
+}
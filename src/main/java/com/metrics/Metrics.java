@@ -0,0 +1,144 @@
+package com.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide metrics registry.
+ *
+ * Every metric is published as an MXBean under {@value #JMX_DOMAIN}, so
+ * JConsole or VisualVM can watch a running converter, and
+ * {@link #scrape()} renders the lot in the Prometheus text format for the
+ * server's {@code /metrics} endpoint. Set {@code metrics.jmx=false} to skip
+ * JMX registration.
+ */
+public final class Metrics {
+
+    public static final String JMX_DOMAIN = "com.oopm.converter";
+
+    private static final boolean JMX_ENABLED = !"false".equals(System.getProperty("metrics.jmx"));
+
+    // Sorted so scrapes list related series together
+    private static final ConcurrentSkipListMap<String, Metric> REGISTRY = new ConcurrentSkipListMap<>();
+
+    private Metrics() {
+    }
+
+    /**
+     * @param name Dotted metric name, e.g., "http.request"
+     * @param tags Alternating tag keys and values, e.g., "host", "api.frankfurter.app"
+     */
+    public static LatencyHistogram histogram(String name, String... tags) {
+        return register(name, tags, key -> new LatencyHistogram(name, tags), LatencyHistogram.class);
+    }
+
+    public static Counter counter(String name, String... tags) {
+        return register(name, tags, key -> new Counter(name, tags), Counter.class);
+    }
+
+    /**
+     * Registers a sampled value, replacing any earlier gauge of the same name.
+     */
+    public static Gauge gauge(String name, DoubleSupplier value, String... tags) {
+        Gauge gauge = new Gauge(name, tags, value);
+        String key = key(name, tags);
+        Metric previous = REGISTRY.put(key, gauge);
+        if (previous != null)
+            unregister(previous);
+        publish(gauge);
+        return gauge;
+    }
+
+    /**
+     * @return Every metric in the Prometheus text exposition format
+     */
+    public static String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        String family = null;
+        // Tagged series of one name sort next to each other
+        for (Map.Entry<String, Metric> entry : REGISTRY.entrySet()) {
+            Metric metric = entry.getValue();
+            String id = metric.getName().replaceAll("[^A-Za-z0-9_]", "_");
+            metric.writeText(out, id, labels(metric.tags()), !id.equals(family));
+            family = id;
+        }
+        return out.toString();
+    }
+
+    private static <M extends Metric> M register(String name, String[] tags, Function<String, M> factory,
+            Class<M> type) {
+        String key = key(name, tags);
+        Metric metric = REGISTRY.get(key);
+        if (metric == null) {
+            M created = factory.apply(key);
+            metric = REGISTRY.putIfAbsent(key, created);
+            if (metric == null) {
+                publish(created);
+                return created;
+            }
+        }
+        if (!type.isInstance(metric))
+            throw new IllegalArgumentException(key + " is already registered as a " + metric.type());
+        return type.cast(metric);
+    }
+
+    private static String key(String name, String[] tags) {
+        return tags.length == 0 ? name : name + labels(tags);
+    }
+
+    private static String labels(String[] tags) {
+        if (tags.length == 0)
+            return "";
+        StringBuilder labels = new StringBuilder("{");
+        for (int i = 0; i < tags.length; i += 2) {
+            if (i > 0)
+                labels.append(',');
+            // Prometheus escaping; the backslash goes first so the others are not escaped twice
+            String value = tags[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+            labels.append(tags[i]).append("=\"").append(value).append('"');
+        }
+        return labels.append('}').toString();
+    }
+
+    private static void publish(Metric metric) {
+        if (!JMX_ENABLED)
+            return;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = objectName(metric);
+            if (server.isRegistered(objectName))
+                server.unregisterMBean(objectName);
+            server.registerMBean(metric, objectName);
+        } catch (JMException | SecurityException e) {
+            // Still in the registry and in scrapes; only the JMX view of it is missing
+        }
+    }
+
+    private static void unregister(Metric metric) {
+        if (!JMX_ENABLED)
+            return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName(metric));
+        } catch (JMException | SecurityException e) {
+            // already gone
+        }
+    }
+
+    private static ObjectName objectName(Metric metric) throws JMException {
+        Hashtable<String, String> properties = new Hashtable<>();
+        properties.put("type", metric.type());
+        properties.put("name", metric.getName());
+        String[] tags = metric.tags();
+        for (int i = 0; i < tags.length; i += 2)
+            properties.put(tags[i], ObjectName.quote(tags[i + 1]));
+        return new ObjectName(JMX_DOMAIN, properties);
+    }
+}
@@ -0,0 +1,141 @@
+package com.rates;
+
+import com.metrics.Metrics;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-host circuit breaker. After a run of consecutive failures the circuit
+ * opens and calls fail immediately with {@link OpenException}. Once the
+ * back-off elapses a single probe is let through (half-open); success
+ * closes the circuit, failure re-opens it with double the back-off. Only
+ * I/O failures and 5xx responses count against the host; a 4xx is the
+ * host answering a bad request.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /** Thrown instead of calling a provider whose circuit is open. */
+    public static class OpenException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public OpenException(String host) {
+            super("Circuit open for " + host);
+        }
+    }
+
+    private static final int DEFAULT_FAILURE_THRESHOLD = 3;
+    private static final long DEFAULT_BASE_BACKOFF_MILLIS = 2000L;
+    private static final long DEFAULT_MAX_BACKOFF_MILLIS = 5 * 60 * 1000L;
+
+    private static final ConcurrentHashMap<String, CircuitBreaker> BY_HOST = new ConcurrentHashMap<>();
+
+    private final String host;
+    private final int failureThreshold;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long backoffMillis;
+    private long openedAt;
+
+    public CircuitBreaker(String host, int failureThreshold, long baseBackoffMillis, long maxBackoffMillis) {
+        this.host = host;
+        this.failureThreshold = failureThreshold;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.backoffMillis = baseBackoffMillis;
+    }
+
+    /**
+     * @param host Provider host, e.g., "api.frankfurter.app"
+     * @return The shared breaker for that host
+     */
+    public static CircuitBreaker forHost(String host) {
+        return BY_HOST.computeIfAbsent(host, h -> new CircuitBreaker(h, DEFAULT_FAILURE_THRESHOLD,
+                DEFAULT_BASE_BACKOFF_MILLIS, DEFAULT_MAX_BACKOFF_MILLIS));
+    }
+
+    /**
+     * Runs {@code action} if the circuit admits it and records the outcome.
+     *
+     * @throws OpenException if the circuit is open, without calling the action
+     */
+    public <T> T execute(Callable<T> action) throws IOException {
+        if (!tryAcquire())
+            throw new OpenException(host);
+        boolean failed = true;
+        try {
+            T result = action.call();
+            failed = false;
+            return result;
+        } catch (RateHttpClient.StatusException e) {
+            // The host answered; a 4xx, e.g., for a pair it doesn't quote, says nothing about its health
+            failed = e.isServerError();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        } finally {
+            // Errors count as failures too, or a failed probe would leave the circuit half-open
+            if (failed)
+                recordFailure();
+            else
+                recordSuccess();
+        }
+    }
+
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt >= backoffMillis) {
+                    state = State.HALF_OPEN; // this caller is the probe
+                    return true;
+                }
+                return false;
+            default:
+                return false; // a probe is already out
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        backoffMillis = baseBackoffMillis;
+    }
+
+    public synchronized void recordFailure() {
+        if (state == State.HALF_OPEN) {
+            backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+            open();
+            return;
+        }
+        if (++consecutiveFailures >= failureThreshold)
+            open();
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        Metrics.counter("circuit.opened", "host", host).increment();
+    }
+}
@@ -0,0 +1,124 @@
+package com.rates;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide cache of full rate tables keyed by base currency.
+ *
+ * Entries expire after a fixed TTL and the least recently used base is
+ * evicted once the cache is full. Defaults can be overridden with the
+ * {@code rates.cache.ttl} (milliseconds) and {@code rates.cache.size}
+ * system properties.
+ */
+public class RateCache {
+
+    private static final long DEFAULT_TTL_MILLIS = 30 * 60 * 1000L;
+    private static final int DEFAULT_MAX_ENTRIES = 32;
+
+    private static final RateCache SHARED = new RateCache(
+            Long.getLong("rates.cache.ttl", DEFAULT_TTL_MILLIS),
+            Integer.getInteger("rates.cache.size", DEFAULT_MAX_ENTRIES));
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final LinkedHashMap<String, RateTable> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public RateCache(long ttlMillis, int maxEntries) {
+        if (ttlMillis <= 0 || maxEntries <= 0)
+            throw new IllegalArgumentException("TTL and size must be positive");
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        // access-order map gives us LRU iteration for free
+        this.entries = new LinkedHashMap<String, RateTable>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RateTable> eldest) {
+                if (size() > RateCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static RateCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * @param base Base currency, e.g., "USD"
+     * @return The cached table, or null if absent or older than the TTL
+     */
+    public synchronized RateTable get(String base) {
+        RateTable table = entries.get(base);
+        if (table == null || table.ageMillis(System.currentTimeMillis()) > ttlMillis) {
+            if (table != null)
+                entries.remove(base);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return table;
+    }
+
+    public synchronized void put(RateTable table) {
+        entries.put(table.getBase(), table);
+    }
+
+    /**
+     * Stores {@code table} unless a table fetched later is already held.
+     *
+     * @return true if it was stored
+     */
+    public synchronized boolean putIfNewer(RateTable table) {
+        RateTable current = entries.get(table.getBase());
+        if (current != null && current.getFetchedAt() >= table.getFetchedAt())
+            return false;
+        entries.put(table.getBase(), table);
+        return true;
+    }
+
+    public synchronized void invalidate(String base) {
+        entries.remove(base);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public double getHitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+}
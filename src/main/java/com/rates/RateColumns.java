@@ -0,0 +1,194 @@
+package com.rates;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable daily rates for several targets against one base, stored as
+ * columns: one epoch-day axis ({@link LocalDate#toEpochDay()}) shared by a
+ * flat {@code double[]} per target. A target with no quote on a day holds
+ * {@code NaN} there.
+ */
+public class RateColumns {
+
+    private final String base;
+    private final String[] targets;
+    private final int[] days;
+    private final double[][] columns;
+
+    /**
+     * @param days    Epoch days in strictly ascending order
+     * @param columns One column per target, each as long as {@code days}
+     */
+    public RateColumns(String base, String[] targets, int[] days, double[][] columns) {
+        if (columns.length != targets.length)
+            throw new IllegalArgumentException("Need one column per target");
+        for (double[] column : columns) {
+            if (column.length != days.length)
+                throw new IllegalArgumentException("Every column must match the day axis");
+        }
+        for (int i = 1; i < days.length; i++) {
+            if (days[i] <= days[i - 1])
+                throw new IllegalArgumentException("Days must be strictly ascending");
+        }
+        this.base = base;
+        this.targets = targets.clone();
+        this.days = days.clone();
+        this.columns = new double[columns.length][];
+        for (int k = 0; k < columns.length; k++)
+            this.columns[k] = columns[k].clone();
+    }
+
+    public String getBase() {
+        return base;
+    }
+
+    public int targetCount() {
+        return targets.length;
+    }
+
+    public String targetAt(int k) {
+        return targets[k];
+    }
+
+    /**
+     * @return Column index of the target, or -1 if not present
+     */
+    public int indexOf(String target) {
+        for (int k = 0; k < targets.length; k++) {
+            if (targets[k].equals(target))
+                return k;
+        }
+        return -1;
+    }
+
+    public int size() {
+        return days.length;
+    }
+
+    public int dayAt(int i) {
+        return days[i];
+    }
+
+    public LocalDate dateAt(int i) {
+        return LocalDate.ofEpochDay(days[i]);
+    }
+
+    /**
+     * @param k Column index
+     * @param i Day index
+     * @return The rate, or NaN if the target was not quoted that day
+     */
+    public double rate(int k, int i) {
+        return columns[k][i];
+    }
+
+    /**
+     * @return Copy of the day axis
+     */
+    public int[] getDays() {
+        return days.clone();
+    }
+
+    /**
+     * @return Copy of one target's column
+     */
+    public double[] getColumn(int k) {
+        return columns[k].clone();
+    }
+
+    /**
+     * @return One target's quoted days as a series, gaps dropped
+     */
+    public RateSeries series(int k) {
+        double[] column = columns[k];
+        int[] quotedDays = new int[days.length];
+        double[] rates = new double[days.length];
+        int n = 0;
+        for (int i = 0; i < days.length; i++) {
+            if (Double.isNaN(column[i]))
+                continue;
+            quotedDays[n] = days[i];
+            rates[n++] = column[i];
+        }
+        return new RateSeries(base, targets[k], Arrays.copyOf(quotedDays, n), Arrays.copyOf(rates, n));
+    }
+
+    /**
+     * Lines up single-target histories on the union of their days.
+     */
+    public static RateColumns fromSeries(String base, List<RateSeries> series) {
+        String[] targets = new String[series.size()];
+        int[] merged = new int[0];
+        for (int k = 0; k < targets.length; k++) {
+            targets[k] = series.get(k).getTarget();
+            merged = union(merged, series.get(k));
+        }
+
+        double[][] columns = new double[targets.length][merged.length];
+        for (int k = 0; k < targets.length; k++) {
+            RateSeries s = series.get(k);
+            Arrays.fill(columns[k], Double.NaN);
+            int i = 0;
+            for (int j = 0; j < s.size(); j++) {
+                while (merged[i] < s.dayAt(j))
+                    i++;
+                columns[k][i] = s.rateAt(j);
+            }
+        }
+        return new RateColumns(base, targets, merged, columns);
+    }
+
+    /**
+     * Joins consecutive, non-overlapping windows with the same targets.
+     */
+    public static RateColumns concat(String base, String[] targets, List<RateColumns> parts) {
+        int total = 0;
+        for (RateColumns part : parts)
+            total += part.size();
+        int[] days = new int[total];
+        double[][] columns = new double[targets.length][total];
+        int n = 0;
+        for (RateColumns part : parts) {
+            System.arraycopy(part.days, 0, days, n, part.size());
+            for (int k = 0; k < targets.length; k++)
+                System.arraycopy(part.columns[k], 0, columns[k], n, part.size());
+            n += part.size();
+        }
+        return new RateColumns(base, targets, days, columns);
+    }
+
+    /**
+     * @return The days from {@code fromDay} to {@code toDay}, both inclusive
+     */
+    public RateColumns slice(int fromDay, int toDay) {
+        int from = 0;
+        while (from < days.length && days[from] < fromDay)
+            from++;
+        int to = from;
+        while (to < days.length && days[to] <= toDay)
+            to++;
+        if (from == 0 && to == days.length)
+            return this;
+        double[][] sliced = new double[columns.length][];
+        for (int k = 0; k < columns.length; k++)
+            sliced[k] = Arrays.copyOfRange(columns[k], from, to);
+        return new RateColumns(base, targets, Arrays.copyOfRange(days, from, to), sliced);
+    }
+
+    private static int[] union(int[] days, RateSeries series) {
+        int[] out = new int[days.length + series.size()];
+        int i = 0, j = 0, n = 0;
+        while (i < days.length || j < series.size()) {
+            if (j == series.size() || (i < days.length && days[i] < series.dayAt(j))) {
+                out[n++] = days[i++];
+            } else {
+                if (i < days.length && days[i] == series.dayAt(j))
+                    i++;
+                out[n++] = series.dayAt(j++);
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
@@ -0,0 +1,81 @@
+package com.rates;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Publish/subscribe feed of rate refreshes.
+ *
+ * Each refresh is diffed against the previous one once, and the resulting
+ * {@link RateUpdate} is delivered to every subscriber on a single feed
+ * thread. Subscribers must not block: UI listeners should hop to their own
+ * thread, and remote listeners should only enqueue.
+ */
+public class RateFeed {
+
+    /** Receives every published update on the feed thread. */
+    public interface Listener {
+        void onUpdate(RateUpdate update);
+    }
+
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "rate-feed");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private RateMatrix previous;
+    private long sequence;
+    private volatile RateUpdate latest;
+
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public int subscriberCount() {
+        return listeners.size();
+    }
+
+    /**
+     * @return The most recent update, or null if nothing was published yet
+     */
+    public RateUpdate getLatest() {
+        return latest;
+    }
+
+    /**
+     * Diffs {@code matrix} against the last published one and fans the
+     * update out. Publishing the same snapshot twice is a no-op.
+     */
+    public synchronized void publish(RateMatrix matrix) {
+        if (previous != null && previous.getSource() == matrix.getSource())
+            return;
+
+        int n = matrix.size();
+        double[] changes = new double[n * n];
+        if (previous != null && previous.size() == n) {
+            for (int i = 0; i < n; i++)
+                for (int j = 0; j < n; j++)
+                    changes[i * n + j] = matrix.rate(i, j) - previous.rate(i, j);
+        }
+        previous = matrix;
+
+        RateUpdate update = new RateUpdate(matrix, changes, ++sequence);
+        latest = update;
+        dispatcher.execute(() -> {
+            for (Listener listener : listeners) {
+                try {
+                    listener.onUpdate(update);
+                } catch (RuntimeException e) {
+                    System.out.println("Rate listener failed: " + e.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,221 @@
+package com.rates;
+
+import com.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared asynchronous HTTP GET client for the rate providers.
+ *
+ * Requests run on a bounded daemon pool ({@code rates.http.threads}) and
+ * reuse the JDK's keep-alive connection cache, so bodies are always read to
+ * the end and closed rather than disconnected. Each host admits a bounded
+ * number of concurrent requests ({@code rates.http.maxPerHost}), and every
+ * request carries a deadline that covers queueing, connecting and reading.
+ * The JDK keeps 5 idle connections per destination by default; raise
+ * {@code http.maxConnections} along with {@code rates.http.maxPerHost}.
+ */
+public class RateHttpClient {
+
+    /** Consumes a successful response body. */
+    public interface BodyHandler<T> {
+        T handle(InputStream body) throws IOException;
+    }
+
+    /** Thrown when the server answers with anything but 200. */
+    public static class StatusException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        public StatusException(int status, String url) {
+            super("HTTP " + status + " from " + url);
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        /**
+         * @return true for 5xx, which may succeed on retry; a 4xx, e.g., an
+         *         unknown currency, will not
+         */
+        public boolean isServerError() {
+            return status >= 500;
+        }
+    }
+
+    private static final int DEFAULT_MAX_PER_HOST = 4;
+    private static final int DEFAULT_THREADS = 16;
+
+    private static final RateHttpClient SHARED = new RateHttpClient(
+            Integer.getInteger("rates.http.maxPerHost", DEFAULT_MAX_PER_HOST),
+            Integer.getInteger("rates.http.threads", DEFAULT_THREADS));
+
+    static {
+        Metrics.gauge("http.inFlight", SHARED::inFlightCount);
+    }
+
+    private final int maxPerHost;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public RateHttpClient(int maxPerHost) {
+        this(maxPerHost, DEFAULT_THREADS);
+    }
+
+    /**
+     * @param maxPerHost Concurrent requests admitted per host
+     * @param threads    Pool size; a burst beyond it queues rather than
+     *                   parking one thread per caller on the host permits
+     */
+    public RateHttpClient(int maxPerHost, int threads) {
+        this.maxPerHost = maxPerHost;
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "rate-http-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    public static RateHttpClient shared() {
+        return SHARED;
+    }
+
+    /**
+     * Starts a GET and hands the body to {@code handler} on a pool thread.
+     * Cancelling the returned future does not abort the request, which runs
+     * on until it completes or its deadline passes.
+     *
+     * @param url            Absolute URL
+     * @param handler        Body consumer, e.g., a streaming parser
+     * @param deadlineMillis Time budget for the whole request
+     */
+    public <T> CompletableFuture<T> getAsync(String url, BodyHandler<T> handler, long deadlineMillis) {
+        long deadline = System.currentTimeMillis() + deadlineMillis;
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(execute(url, handler, deadline));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Blocking form of {@link #getAsync}; gives up once the deadline passes.
+     */
+    public <T> T get(String url, BodyHandler<T> handler, long deadlineMillis) throws IOException {
+        CompletableFuture<T> future = getAsync(url, handler, deadlineMillis);
+        try {
+            return future.get(deadlineMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // The request stops by itself at the same deadline
+            throw new IOException("Deadline of " + deadlineMillis + " ms exceeded for " + url);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + url, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.get();
+    }
+
+    public int getMaxPerHost() {
+        return maxPerHost;
+    }
+
+    // Latency is recorded per host, including time spent queued for a permit
+    private <T> T execute(String url, BodyHandler<T> handler, long deadline) throws IOException {
+        URL target = new URL(url);
+        long start = System.nanoTime();
+        try {
+            return fetch(target, handler, deadline);
+        } catch (IOException | RuntimeException e) {
+            Metrics.counter("http.failures", "host", target.getHost()).increment();
+            throw e;
+        } finally {
+            Metrics.histogram("http.request", "host", target.getHost()).recordSince(start);
+        }
+    }
+
+    private <T> T fetch(URL target, BodyHandler<T> handler, long deadline) throws IOException {
+        String url = target.toString();
+
+        Semaphore permits = hostPermits.computeIfAbsent(target.getHost(), h -> new Semaphore(maxPerHost));
+        try {
+            if (!permits.tryAcquire(remaining(deadline, url), TimeUnit.MILLISECONDS))
+                throw new IOException("Timed out waiting for a connection to " + target.getHost());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while queued for " + target.getHost(), e);
+        }
+
+        inFlight.incrementAndGet();
+        try {
+            HttpURLConnection connection = (HttpURLConnection) target.openConnection();
+            connection.setRequestMethod("GET");
+            connection.setConnectTimeout(remaining(deadline, url));
+            connection.setReadTimeout(remaining(deadline, url));
+
+            int status = connection.getResponseCode();
+            if (status != 200) {
+                drain(connection.getErrorStream());
+                throw new StatusException(status, url);
+            }
+
+            try (InputStream in = connection.getInputStream()) {
+                T result = handler.handle(in);
+                drain(in); // leave the connection clean for keep-alive reuse
+                return result;
+            }
+        } finally {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    private static int remaining(long deadline, String url) throws IOException {
+        long left = deadline - System.currentTimeMillis();
+        if (left <= 0)
+            throw new IOException("Deadline exceeded for " + url);
+        return (int) Math.min(left, Integer.MAX_VALUE);
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        if (in == null)
+            return;
+        byte[] buffer = new byte[512];
+        while (in.read(buffer) >= 0) {
+            // discard
+        }
+        in.close();
+    }
+}
@@ -0,0 +1,85 @@
+package com.rates;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dense cross-rate matrix for a fixed set of currencies, derived from a
+ * single base snapshot.
+ *
+ * {@code rate(i, j)} is the number of units of currency {@code j} bought by
+ * one unit of currency {@code i}. Pairs the snapshot does not quote are NaN.
+ */
+public final class RateMatrix {
+
+    private final String[] codes;
+    private final Map<String, Integer> index;
+    private final double[][] rates;
+    private final RateTable source;
+
+    private RateMatrix(String[] codes, Map<String, Integer> index, double[][] rates, RateTable source) {
+        this.codes = codes;
+        this.index = index;
+        this.rates = rates;
+        this.source = source;
+    }
+
+    /**
+     * Triangulates every pair through the base of {@code pivot}.
+     *
+     * @param pivot Snapshot quoted against one base, e.g., USD
+     * @param codes Currency codes in ordinal order
+     * @return Matrix indexed by position in {@code codes}
+     */
+    public static RateMatrix build(RateTable pivot, String[] codes) {
+        int n = codes.length;
+        Map<String, Integer> index = new HashMap<>(n * 2);
+        double[] fromPivot = new double[n];
+        for (int i = 0; i < n; i++) {
+            index.put(codes[i], i);
+            fromPivot[i] = pivot.rate(codes[i]);
+        }
+
+        double[][] rates = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            double[] row = rates[i];
+            double toPivot = 1.0 / fromPivot[i];
+            for (int j = 0; j < n; j++) {
+                row[j] = i == j ? 1.0 : toPivot * fromPivot[j];
+            }
+        }
+        return new RateMatrix(codes.clone(), index, rates, pivot);
+    }
+
+    public int indexOf(String code) {
+        Integer i = index.get(code);
+        return i != null ? i : -1;
+    }
+
+    public double rate(int from, int to) {
+        return rates[from][to];
+    }
+
+    /**
+     * @return Cross rate, or NaN if either code is unknown or unquoted
+     */
+    public double rate(String from, String to) {
+        int i = indexOf(from);
+        int j = indexOf(to);
+        if (i < 0 || j < 0)
+            return Double.NaN;
+        return rates[i][j];
+    }
+
+    public int size() {
+        return codes.length;
+    }
+
+    public String codeAt(int ordinal) {
+        return codes[ordinal];
+    }
+
+    public RateTable getSource() {
+        return source;
+    }
+}
@@ -0,0 +1,278 @@
+package com.rates;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+/**
+ * Streaming parsers for provider responses. Both read straight off the
+ * response stream with a shared {@link JsonFactory}, keep only the values
+ * they were asked for and never build a document tree.
+ */
+public final class RateParser {
+
+    // Thread-safe once configured; reuses its symbol tables across calls.
+    // Callers own the stream so they can drain it for connection reuse.
+    private static final JsonFactory FACTORY = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
+
+    private RateParser() {
+    }
+
+    /**
+     * Parses an exchangerate-api {@code /latest/{base}} response.
+     *
+     * @param in        Response body
+     * @param base      Base currency the table is quoted against
+     * @param wanted    Codes to keep, or null to keep every quoted rate
+     * @param fetchedAt Timestamp to stamp on the table
+     * @return Table holding the wanted codes the response actually quoted
+     */
+    public static RateTable parseRateTable(InputStream in, String base, String[] wanted, long fetchedAt)
+            throws IOException {
+        String[] codes = new String[wanted != null ? wanted.length : 64];
+        double[] rates = new double[codes.length];
+        int count = 0;
+
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"rates".equals(field) || value != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String code = parser.currentName();
+                    parser.nextToken();
+                    if (wanted != null && indexOf(wanted, code) < 0)
+                        continue;
+                    if (count == codes.length) {
+                        codes = Arrays.copyOf(codes, count * 2);
+                        rates = Arrays.copyOf(rates, count * 2);
+                    }
+                    codes[count] = code;
+                    rates[count++] = parser.getDoubleValue();
+                }
+            }
+        }
+
+        if (count == 0)
+            throw new IOException("Response has no rates for " + base);
+        return new RateTable(base, Arrays.copyOf(codes, count), Arrays.copyOf(rates, count), fetchedAt);
+    }
+
+    /**
+     * Parses a Frankfurter time-series response for a single target.
+     *
+     * @param in     Response body
+     * @param target Target currency, e.g., "INR"
+     * @return Rates in the order the provider listed the dates
+     */
+    public static double[] parseTrend(InputStream in, String target) throws IOException {
+        double[] values = new double[32];
+        int count = 0;
+
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"rates".equals(field) || value != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                // { "2024-01-01": { "INR": 83.1 }, ... }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    expect(parser.nextToken(), JsonToken.START_OBJECT);
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String code = parser.currentName();
+                        parser.nextToken();
+                        if (!target.equals(code))
+                            continue;
+                        if (count == values.length)
+                            values = Arrays.copyOf(values, count * 2);
+                        values[count++] = parser.getDoubleValue();
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Parses a Frankfurter time-series response for a single target,
+     * keeping the date of every rate.
+     *
+     * @param in     Response body
+     * @param base   Base currency the series is quoted against
+     * @param target Target currency, e.g., "INR"
+     * @return Series in ascending date order; days without a rate are skipped
+     */
+    public static RateSeries parseSeries(InputStream in, String base, String target) throws IOException {
+        int[] days = new int[32];
+        double[] values = new double[32];
+        int count = 0;
+
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"rates".equals(field) || value != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    int day = epochDay(parser.currentName());
+                    expect(parser.nextToken(), JsonToken.START_OBJECT);
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String code = parser.currentName();
+                        parser.nextToken();
+                        if (!target.equals(code))
+                            continue;
+                        if (count == days.length) {
+                            days = Arrays.copyOf(days, count * 2);
+                            values = Arrays.copyOf(values, count * 2);
+                        }
+                        days[count] = day;
+                        values[count++] = parser.getDoubleValue();
+                    }
+                }
+            }
+        }
+
+        int[] order = sortedRows(days, count);
+        if (order == null)
+            return new RateSeries(base, target, Arrays.copyOf(days, count), Arrays.copyOf(values, count));
+        return new RateSeries(base, target, permute(days, order), permute(values, order));
+    }
+
+    /**
+     * Parses a Frankfurter time-series response for several targets into
+     * columns, without boxing a single value.
+     *
+     * @param in      Response body
+     * @param base    Base currency the series is quoted against
+     * @param targets Target currencies, e.g., {"INR", "EUR"}
+     * @return Columns in ascending date order; NaN where a target was not quoted
+     */
+    public static RateColumns parseColumns(InputStream in, String base, String[] targets) throws IOException {
+        int[] days = new int[32];
+        double[][] columns = new double[targets.length][32];
+        int count = 0;
+
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"rates".equals(field) || value != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                // { "2024-01-01": { "EUR": 0.91, "INR": 83.1 }, ... }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    int day = epochDay(parser.currentName());
+                    if (count == days.length) {
+                        days = Arrays.copyOf(days, count * 2);
+                        for (int k = 0; k < targets.length; k++)
+                            columns[k] = Arrays.copyOf(columns[k], count * 2);
+                    }
+                    days[count] = day;
+                    for (int k = 0; k < targets.length; k++)
+                        columns[k][count] = Double.NaN;
+
+                    expect(parser.nextToken(), JsonToken.START_OBJECT);
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        int k = indexOf(targets, parser.currentName());
+                        parser.nextToken();
+                        if (k >= 0)
+                            columns[k][count] = parser.getDoubleValue();
+                    }
+                    count++;
+                }
+            }
+        }
+
+        int[] order = sortedRows(days, count);
+        double[][] trimmed = new double[targets.length][];
+        for (int k = 0; k < targets.length; k++)
+            trimmed[k] = order == null ? Arrays.copyOf(columns[k], count) : permute(columns[k], order);
+        return new RateColumns(base, targets, order == null ? Arrays.copyOf(days, count) : permute(days, order),
+                trimmed);
+    }
+
+    // Providers list dates in order. If one did not, returns the rows sorted by day,
+    // keeping the last row listed for a repeated day; null when already ascending.
+    private static int[] sortedRows(int[] days, int count) {
+        boolean ascending = true;
+        for (int i = 1; i < count && ascending; i++)
+            ascending = days[i] > days[i - 1];
+        if (ascending)
+            return null;
+
+        // Day in the high half, row in the low half: one primitive sort, ties in listed order
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++)
+            keys[i] = (long) days[i] << 32 | i;
+        Arrays.sort(keys);
+
+        int[] order = new int[count];
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (i + 1 < count && keys[i + 1] >> 32 == keys[i] >> 32)
+                continue;
+            order[n++] = (int) keys[i];
+        }
+        return Arrays.copyOf(order, n);
+    }
+
+    private static int[] permute(int[] values, int[] order) {
+        int[] out = new int[order.length];
+        for (int i = 0; i < order.length; i++)
+            out[i] = values[order[i]];
+        return out;
+    }
+
+    private static double[] permute(double[] values, int[] order) {
+        double[] out = new double[order.length];
+        for (int i = 0; i < order.length; i++)
+            out[i] = values[order[i]];
+        return out;
+    }
+
+    private static int epochDay(String date) throws IOException {
+        try {
+            return (int) LocalDate.parse(date).toEpochDay();
+        } catch (DateTimeParseException e) {
+            throw new IOException("Malformed date in rate response: " + date);
+        }
+    }
+
+    private static int indexOf(String[] codes, String code) {
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i].equals(code))
+                return i;
+        }
+        return -1;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected)
+            throw new IOException("Malformed rate response: expected " + expected + " but got " + actual);
+    }
+}
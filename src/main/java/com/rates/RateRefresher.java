@@ -0,0 +1,166 @@
+package com.rates;
+
+import com.metrics.Metrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the configured base tables warm in a {@link RateCache} and serves
+ * them with stale-while-revalidate semantics.
+ *
+ * A table younger than the soft TTL is served as-is. Once it passes the soft
+ * TTL it is still served immediately, but a single background revalidation
+ * is started. Only a cold or hard-expired base blocks the caller on the
+ * network; a seeded table, e.g., one restored from disk, is served as
+ * stale whatever its age until a load succeeds.
+ */
+public class RateRefresher {
+
+    /** Fetches a fresh table for one base currency. */
+    public interface Loader {
+        RateTable load(String base) throws IOException;
+    }
+
+    /** Notified after every successful load of a table. */
+    public interface RefreshListener {
+        void onRefresh(RateTable table);
+    }
+
+    private final RateCache cache;
+    private final Loader loader;
+    private final long softTtlMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final List<String> warmBases = new ArrayList<>();
+    private final List<RefreshListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Last good tables served past the hard TTL until a load replaces them
+    private final Map<String, RateTable> seeds = new HashMap<>();
+
+    public RateRefresher(RateCache cache, Loader loader, long softTtlMillis) {
+        this.cache = cache;
+        this.loader = loader;
+        this.softTtlMillis = softTtlMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "rate-refresher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Refreshes {@code bases} now and then every {@code intervalMillis}.
+     */
+    public synchronized void start(Collection<String> bases, long intervalMillis) {
+        warmBases.addAll(bases);
+        List<String> snapshot = new ArrayList<>(bases);
+        scheduler.scheduleWithFixedDelay(() -> {
+            for (String base : snapshot)
+                refresh(base);
+        }, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param base Base currency, e.g., "USD"
+     * @return The latest table, possibly stale; blocks only on a cold cache
+     */
+    public RateTable get(String base) throws IOException {
+        RateTable table = cache.get(base);
+        if (table == null) {
+            synchronized (seeds) {
+                table = seeds.get(base);
+            }
+            if (table != null) {
+                revalidateAsync(base);
+                return table;
+            }
+            table = loader.load(base);
+            store(table);
+            return table;
+        }
+        if (table.ageMillis(System.currentTimeMillis()) > softTtlMillis)
+            revalidateAsync(base);
+        return table;
+    }
+
+    /**
+     * Schedules a background refresh of {@code base} unless one is already
+     * pending.
+     */
+    public void revalidateAsync(String base) {
+        if (!revalidating.add(base))
+            return;
+        try {
+            scheduler.execute(() -> {
+                try {
+                    refresh(base);
+                } finally {
+                    revalidating.remove(base);
+                }
+            });
+        } catch (RuntimeException e) {
+            revalidating.remove(base);
+        }
+    }
+
+    /**
+     * Serves {@code table} for its base, however old, until a load succeeds,
+     * so a last good table restored at startup spares the first caller the
+     * network.
+     *
+     * @return false if a table at least as new is already cached
+     */
+    public boolean seed(RateTable table) {
+        synchronized (seeds) {
+            if (!cache.putIfNewer(table))
+                return false;
+            seeds.put(table.getBase(), table);
+            return true;
+        }
+    }
+
+    public void addRefreshListener(RefreshListener listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized List<String> getWarmBases() {
+        return new ArrayList<>(warmBases);
+    }
+
+    public long getSoftTtlMillis() {
+        return softTtlMillis;
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void store(RateTable table) {
+        synchronized (seeds) {
+            seeds.remove(table.getBase());
+            cache.put(table);
+        }
+        for (RefreshListener listener : listeners)
+            listener.onRefresh(table);
+    }
+
+    private void refresh(String base) {
+        try {
+            store(loader.load(base));
+        } catch (IOException | RuntimeException e) {
+            // The cached table stays in place and the next tick tries again
+            Metrics.counter("rates.refresh.failures", "base", base).increment();
+        }
+    }
+}
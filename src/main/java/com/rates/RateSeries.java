@@ -0,0 +1,168 @@
+package com.rates;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable daily rate history for one pair, in ascending date order.
+ *
+ * Days are stored as epoch days ({@link LocalDate#toEpochDay()}) in a
+ * primitive array next to the rates, so years of history cost a few
+ * kilobytes. Days the provider does not quote, such as weekends, are simply
+ * absent.
+ */
+public class RateSeries {
+
+    private final String base;
+    private final String target;
+    private final int[] days;
+    private final double[] rates;
+
+    /**
+     * @param days  Epoch days in strictly ascending order
+     * @param rates Rate for each day
+     */
+    public RateSeries(String base, String target, int[] days, double[] rates) {
+        if (days.length != rates.length)
+            throw new IllegalArgumentException("Days and rates must have the same length");
+        for (int i = 1; i < days.length; i++) {
+            if (days[i] <= days[i - 1])
+                throw new IllegalArgumentException("Days must be strictly ascending");
+        }
+        this.base = base;
+        this.target = target;
+        this.days = days.clone();
+        this.rates = rates.clone();
+    }
+
+    public static RateSeries empty(String base, String target) {
+        return new RateSeries(base, target, new int[0], new double[0]);
+    }
+
+    public String getBase() {
+        return base;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public int size() {
+        return days.length;
+    }
+
+    public boolean isEmpty() {
+        return days.length == 0;
+    }
+
+    public int dayAt(int i) {
+        return days[i];
+    }
+
+    public LocalDate dateAt(int i) {
+        return LocalDate.ofEpochDay(days[i]);
+    }
+
+    public double rateAt(int i) {
+        return rates[i];
+    }
+
+    /**
+     * @return Copy of the epoch days
+     */
+    public int[] getDays() {
+        return days.clone();
+    }
+
+    /**
+     * @return Copy of the rates
+     */
+    public double[] getRates() {
+        return rates.clone();
+    }
+
+    /**
+     * @return Rates in date order, boxed for the chart code
+     */
+    public List<Double> toList() {
+        List<Double> list = new ArrayList<>(rates.length);
+        for (double rate : rates)
+            list.add(rate);
+        return list;
+    }
+
+    /**
+     * @return The days from {@code fromDay} to {@code toDay}, both inclusive
+     */
+    public RateSeries slice(int fromDay, int toDay) {
+        int from = lowerBound(fromDay);
+        int to = lowerBound(toDay + 1);
+        if (from == 0 && to == days.length)
+            return this;
+        if (from >= to)
+            return empty(base, target);
+        return new RateSeries(base, target, Arrays.copyOfRange(days, from, to), Arrays.copyOfRange(rates, from, to));
+    }
+
+    /**
+     * Unions two histories of the same pair. Where both quote a day,
+     * {@code newer} wins.
+     */
+    public static RateSeries merge(RateSeries older, RateSeries newer) {
+        if (older.isEmpty())
+            return newer;
+        if (newer.isEmpty())
+            return older;
+
+        int[] days = new int[older.size() + newer.size()];
+        double[] rates = new double[days.length];
+        int i = 0, j = 0, n = 0;
+        while (i < older.size() || j < newer.size()) {
+            if (j == newer.size() || (i < older.size() && older.days[i] < newer.days[j])) {
+                days[n] = older.days[i];
+                rates[n++] = older.rates[i++];
+            } else {
+                if (i < older.size() && older.days[i] == newer.days[j])
+                    i++;
+                days[n] = newer.days[j];
+                rates[n++] = newer.rates[j++];
+            }
+        }
+        return new RateSeries(newer.base, newer.target, Arrays.copyOf(days, n), Arrays.copyOf(rates, n));
+    }
+
+    /**
+     * Joins consecutive, non-overlapping parts of one pair's history.
+     *
+     * @param parts Series in ascending order, each ending before the next begins
+     */
+    public static RateSeries concat(String base, String target, List<RateSeries> parts) {
+        int total = 0;
+        for (RateSeries part : parts)
+            total += part.size();
+        int[] days = new int[total];
+        double[] rates = new double[total];
+        int n = 0;
+        for (RateSeries part : parts) {
+            System.arraycopy(part.days, 0, days, n, part.size());
+            System.arraycopy(part.rates, 0, rates, n, part.size());
+            n += part.size();
+        }
+        return new RateSeries(base, target, days, rates);
+    }
+
+    // First index whose day is >= day
+    private int lowerBound(int day) {
+        int lo = 0, hi = days.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[mid] < day)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+}
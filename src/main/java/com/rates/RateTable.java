@@ -0,0 +1,91 @@
+package com.rates;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the rates quoted against one base currency, as
+ * returned by a single provider call. Rates are held in parallel primitive
+ * arrays so a parsed table costs two allocations regardless of its size.
+ */
+public final class RateTable {
+
+    private final String base;
+    private final String[] codes;
+    private final double[] rates;
+    private final long fetchedAt;
+
+    public RateTable(String base, String[] codes, double[] rates, long fetchedAt) {
+        if (codes.length != rates.length)
+            throw new IllegalArgumentException("codes and rates differ in length");
+        this.base = base;
+        this.codes = codes;
+        this.rates = rates;
+        this.fetchedAt = fetchedAt;
+    }
+
+    public RateTable(String base, Map<String, Double> rates, long fetchedAt) {
+        this.base = base;
+        this.codes = new String[rates.size()];
+        this.rates = new double[rates.size()];
+        this.fetchedAt = fetchedAt;
+        int i = 0;
+        for (Map.Entry<String, Double> entry : rates.entrySet()) {
+            codes[i] = entry.getKey();
+            this.rates[i++] = entry.getValue();
+        }
+    }
+
+    public String getBase() {
+        return base;
+    }
+
+    /**
+     * @return A copy of the quoted rates keyed by currency code
+     */
+    public Map<String, Double> getRates() {
+        Map<String, Double> map = new LinkedHashMap<>(codes.length * 2);
+        for (int i = 0; i < codes.length; i++)
+            map.put(codes[i], rates[i]);
+        return map;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public int size() {
+        return codes.length;
+    }
+
+    public String codeAt(int i) {
+        return codes[i];
+    }
+
+    public double rateAt(int i) {
+        return rates[i];
+    }
+
+    public boolean has(String code) {
+        return !Double.isNaN(rate(code));
+    }
+
+    /**
+     * @param code Target currency, e.g., "INR"
+     * @return Units of {@code code} per one unit of the base, or NaN if the
+     *         table does not quote it
+     */
+    public double rate(String code) {
+        if (base.equals(code))
+            return 1.0;
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i].equals(code))
+                return rates[i];
+        }
+        return Double.NaN;
+    }
+
+    public long ageMillis(long now) {
+        return now - fetchedAt;
+    }
+}
@@ -0,0 +1,47 @@
+package com.rates;
+
+/**
+ * One published refresh: the new cross rates and how every pair moved
+ * since the previous refresh. Deltas are computed once by the publisher
+ * and shared by all subscribers.
+ */
+public final class RateUpdate {
+
+    private final RateMatrix matrix;
+    private final double[] changes;
+    private final long sequence;
+
+    RateUpdate(RateMatrix matrix, double[] changes, long sequence) {
+        this.matrix = matrix;
+        this.changes = changes;
+        this.sequence = sequence;
+    }
+
+    public RateMatrix getMatrix() {
+        return matrix;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestamp() {
+        return matrix.getSource().getFetchedAt();
+    }
+
+    public double rate(int from, int to) {
+        return matrix.rate(from, to);
+    }
+
+    /**
+     * @return Absolute change since the previous update, or 0 for the first
+     */
+    public double change(int from, int to) {
+        return changes[from * matrix.size() + to];
+    }
+
+    public double percentChange(int from, int to) {
+        double previous = rate(from, to) - change(from, to);
+        return previous == 0 || Double.isNaN(previous) ? 0.0 : change(from, to) / previous * 100.0;
+    }
+}
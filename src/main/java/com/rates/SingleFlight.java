@@ -0,0 +1,68 @@
+package com.rates;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of in-flight loads. Concurrent callers asking for the same key
+ * share one outstanding call and all receive its result (or its failure).
+ *
+ * @param <K> Key type, e.g., the base currency
+ * @param <V> Result type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong shared = new AtomicLong();
+
+    /**
+     * Runs {@code loader} unless a load for {@code key} is already running, in
+     * which case the caller waits for that one instead.
+     */
+    public V execute(K key, Callable<V> loader) throws IOException {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            shared.incrementAndGet();
+            return await(existing);
+        }
+
+        try {
+            mine.complete(loader.call());
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+        } finally {
+            inFlight.remove(key, mine);
+        }
+        return await(mine);
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    // Number of callers that piggy-backed on another caller's load
+    public long getSharedCount() {
+        return shared.get();
+    }
+
+    private V await(CompletableFuture<V> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for rate fetch", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw new IOException(cause);
+        }
+    }
+}
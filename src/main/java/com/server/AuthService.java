@@ -1,11 +1,16 @@
 package com.server;
 
+import com.metrics.LatencyHistogram;
+import com.metrics.Metrics;
+
 import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.sql.*;
 
 public class AuthService {
 
+    private static final LatencyHistogram LOGIN_LATENCY = Metrics.histogram("auth.login");
+
     // Generate a random salt (16 bytes)
     private static String generateSalt() {
         SecureRandom random = new SecureRandom();
@@ -60,6 +65,7 @@ public class AuthService {
     // Login user
     public static boolean loginUser(String username, String password) {
         String sql = "SELECT password_hash, salt FROM users WHERE username = ?";
+        long start = System.nanoTime();
 
         try (Connection conn = Database.getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -77,6 +83,8 @@ public class AuthService {
 
         } catch (SQLException e) {
             System.out.println("Login failed: " + e.getMessage());
+        } finally {
+            LOGIN_LATENCY.recordSince(start);
         }
         return false;
     }
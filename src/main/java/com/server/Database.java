@@ -8,7 +8,12 @@ import java.sql.Statement;
 public class Database {
     private static final String URL = "jdbc:sqlite:auth.db"; // your DB file
 
-    public static void initialize() {
+    /**
+     * Creates any missing tables.
+     *
+     * @return false if the database could not be set up
+     */
+    public static boolean initialize() {
         try (Connection conn = DriverManager.getConnection(URL)) {
             if (conn != null) {
                 String sql = "CREATE TABLE IF NOT EXISTS users ("
@@ -18,13 +23,46 @@ public class Database {
                         + " salt TEXT NOT NULL"
                         + ");";
 
+                // Last good rate tables, one row per (base, code)
+                String ratesSql = "CREATE TABLE IF NOT EXISTS rate_snapshots ("
+                        + " base TEXT NOT NULL, "
+                        + " code TEXT NOT NULL, "
+                        + " rate REAL NOT NULL, "
+                        + " fetched_at INTEGER NOT NULL, "
+                        + " PRIMARY KEY (base, code)"
+                        + ");";
+
+                // Daily rate history, one row per (base, target, epoch day)
+                String historySql = "CREATE TABLE IF NOT EXISTS rate_history ("
+                        + " base TEXT NOT NULL, "
+                        + " target TEXT NOT NULL, "
+                        + " day INTEGER NOT NULL, "
+                        + " rate REAL NOT NULL, "
+                        + " PRIMARY KEY (base, target, day)"
+                        + ") WITHOUT ROWID;";
+
+                // Day range already downloaded per pair, so backfills only ask for what is missing
+                String coverageSql = "CREATE TABLE IF NOT EXISTS rate_history_coverage ("
+                        + " base TEXT NOT NULL, "
+                        + " target TEXT NOT NULL, "
+                        + " first_day INTEGER NOT NULL, "
+                        + " last_day INTEGER NOT NULL, "
+                        + " checked_at INTEGER NOT NULL, "
+                        + " PRIMARY KEY (base, target)"
+                        + ");";
+
                 try (Statement stmt = conn.createStatement()) {
                     stmt.execute(sql);
+                    stmt.execute(ratesSql);
+                    stmt.execute(historySql);
+                    stmt.execute(coverageSql);
                     System.out.println("Database ready.");
                 }
             }
+            return true;
         } catch (SQLException e) {
             System.out.println("Database initialization failed: " + e.getMessage());
+            return false;
         }
     }
 
@@ -0,0 +1,414 @@
+package com.server;
+
+import com.chart.CurrencyFetcher;
+import com.engine.ConversionEngine;
+import com.engine.Currencies;
+import com.engine.CurrencyInfo;
+import com.engine.Money;
+import com.engine.MoneyFormat;
+import com.metrics.Metrics;
+import com.rates.RateFeed;
+import com.rates.RateMatrix;
+import com.rates.RateSeries;
+import com.rates.RateUpdate;
+import com.rates.SingleFlight;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.math.RoundingMode;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded JSON conversion service.
+ *
+ * GET /convert?from=USD&to=INR&amount=100
+ * GET /rates/{base}
+ * GET /trend/{base}/{target}?days=30
+ * GET /stream?pairs=USD/INR,EUR/JPY   (Server-Sent Events)
+ * GET /metrics                        (Prometheus text format)
+ *
+ * Requests run on a bounded worker pool. Once its queue is full the
+ * accepting thread runs the request itself, which stops it accepting new
+ * connections until the backlog drains. Rates come from the
+ * shared {@link ConversionEngine}. Trends are read from the local history,
+ * which downloads only days it does not hold yet, and concurrent callers
+ * for the same trend share one load. Nothing is kept per request, so
+ * varying pairs and ranges cannot grow the heap.
+ */
+public class RateServer {
+
+    // Ten years; older days come from the local history after the first request
+    private static final int MAX_TREND_DAYS = 3660;
+
+    private final ConversionEngine engine;
+    private final HttpServer server;
+    private final ThreadPoolExecutor workers;
+
+    private static final int MAX_STREAMS = Integer.getInteger("server.maxStreams", 256);
+    private static final int STREAM_QUEUE = 16;
+    private static final long STREAM_HEARTBEAT_MILLIS = 15000;
+
+    // Streams hold their connection open, so they get their own threads
+    private final ExecutorService streamThreads;
+    private final AtomicInteger openStreams = new AtomicInteger();
+
+    private final SingleFlight<String, RateSeries> trendLoads = new SingleFlight<>();
+
+    public RateServer(ConversionEngine engine, int port, int threads, int queueSize) throws IOException {
+        this.engine = engine;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+
+        AtomicInteger ids = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), r -> {
+                    Thread t = new Thread(r, "rate-server-" + ids.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        server.setExecutor(workers);
+
+        AtomicInteger streamIds = new AtomicInteger();
+        this.streamThreads = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "rate-stream-" + streamIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        server.createContext("/convert", timed("convert", this::handleConvert));
+        server.createContext("/rates/", timed("rates", this::handleRates));
+        server.createContext("/trend/", timed("trend", this::handleTrend));
+        server.createContext("/stream", guarded(this::handleStream));
+        server.createContext("/metrics", guarded(this::handleMetrics));
+
+        Metrics.gauge("server.queue", () -> workers.getQueue().size());
+        Metrics.gauge("server.activeWorkers", workers::getActiveCount);
+        Metrics.gauge("server.openStreams", openStreams::get);
+    }
+
+    public void start() {
+        engine.startRefreshing();
+        server.start();
+        System.out.println("Rate server listening on port " + server.getAddress().getPort());
+    }
+
+    public void stop() {
+        server.stop(0);
+        workers.shutdownNow();
+        streamThreads.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleConvert(HttpExchange exchange) throws IOException {
+        if (!requireGet(exchange))
+            return;
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        CurrencyInfo from = Currencies.get(upper(query.get("from")));
+        CurrencyInfo to = Currencies.get(upper(query.get("to")));
+        if (from == null || to == null) {
+            sendError(exchange, 400, "Unsupported or missing currency");
+            return;
+        }
+
+        long amount;
+        try {
+            String text = query.containsKey("amount") ? query.get("amount") : "1";
+            amount = Money.parse(text, from.getScale(), RoundingMode.HALF_EVEN);
+        } catch (NumberFormatException | ArithmeticException e) {
+            sendError(exchange, 400, "Invalid amount");
+            return;
+        }
+
+        double rate = engine.getRate(from.getCode(), to.getCode());
+        long result;
+        try {
+            result = Money.convert(amount, from.getScale(), rate, to.getScale(), RoundingMode.HALF_EVEN);
+        } catch (ArithmeticException e) {
+            sendError(exchange, 400, "Amount out of range");
+            return;
+        }
+
+        StringBuilder json = new StringBuilder(128);
+        json.append("{\"from\":\"").append(from.getCode())
+                .append("\",\"to\":\"").append(to.getCode())
+                .append("\",\"amount\":");
+        MoneyFormat.PLAIN.format(amount, from.getScale(), json);
+        json.append(",\"rate\":").append(rate).append(",\"result\":");
+        MoneyFormat.PLAIN.format(result, to.getScale(), json);
+        json.append('}');
+        sendJson(exchange, 200, json);
+    }
+
+    private void handleRates(HttpExchange exchange) throws IOException {
+        if (!requireGet(exchange))
+            return;
+        String[] parts = pathParts(exchange, "/rates/");
+        CurrencyInfo base = parts.length == 1 ? Currencies.get(upper(parts[0])) : null;
+        if (base == null) {
+            sendError(exchange, 404, "Unknown base currency");
+            return;
+        }
+
+        // Every cell from one snapshot, matching the timestamp
+        RateMatrix matrix = engine.getMatrix();
+        int i = matrix.indexOf(base.getCode());
+        StringBuilder json = new StringBuilder(512);
+        json.append("{\"base\":\"").append(base.getCode())
+                .append("\",\"timestamp\":").append(matrix.getSource().getFetchedAt())
+                .append(",\"rates\":{");
+        for (int j = 0; j < matrix.size(); j++) {
+            if (j > 0)
+                json.append(',');
+            json.append('"').append(matrix.codeAt(j)).append("\":")
+                    .append(i == j ? 1.0 : ConversionEngine.rate(matrix, i, j));
+        }
+        json.append("}}");
+        sendJson(exchange, 200, json);
+    }
+
+    private void handleTrend(HttpExchange exchange) throws IOException {
+        if (!requireGet(exchange))
+            return;
+        String[] parts = pathParts(exchange, "/trend/");
+        if (parts.length != 2 || Currencies.get(upper(parts[0])) == null || Currencies.get(upper(parts[1])) == null) {
+            sendError(exchange, 404, "Expected /trend/{base}/{target}");
+            return;
+        }
+        String base = upper(parts[0]);
+        String target = upper(parts[1]);
+
+        int days;
+        try {
+            String text = parseQuery(exchange.getRequestURI().getRawQuery()).get("days");
+            days = text == null ? 30 : Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            days = -1;
+        }
+        if (days < 1 || days > MAX_TREND_DAYS) {
+            sendError(exchange, 400, "days must be between 1 and " + MAX_TREND_DAYS);
+            return;
+        }
+
+        RateSeries trend;
+        try {
+            trend = getTrend(base, target, days);
+        } catch (IOException e) {
+            sendError(exchange, 502, "Trend unavailable");
+            return;
+        }
+        StringBuilder json = new StringBuilder(64 + trend.size() * 12);
+        json.append("{\"base\":\"").append(base)
+                .append("\",\"target\":\"").append(target)
+                .append("\",\"rates\":[");
+        for (int i = 0; i < trend.size(); i++) {
+            if (i > 0)
+                json.append(',');
+            json.append(trend.rateAt(i));
+        }
+        json.append("]}");
+        sendJson(exchange, trend.isEmpty() ? 502 : 200, json);
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        if (!requireGet(exchange))
+            return;
+        byte[] bytes = Metrics.scrape().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Records handler latency per endpoint
+    private static HttpHandler timed(String endpoint, HttpHandler handler) {
+        HttpHandler guarded = guarded(handler);
+        return exchange -> {
+            long start = System.nanoTime();
+            try {
+                guarded.handle(exchange);
+            } finally {
+                Metrics.histogram("server.request", "endpoint", endpoint).recordSince(start);
+            }
+        };
+    }
+
+    // Unexpected failures become a 500 rather than a reset connection
+    private static HttpHandler guarded(HttpHandler handler) {
+        return exchange -> {
+            try {
+                handler.handle(exchange);
+            } catch (RuntimeException e) {
+                System.out.println("Request to " + exchange.getRequestURI() + " failed: " + e);
+                if (exchange.getResponseCode() == -1)
+                    sendError(exchange, 500, "Internal server error");
+                else
+                    exchange.close();
+            }
+        };
+    }
+
+    private void handleStream(HttpExchange exchange) throws IOException {
+        if (!requireGet(exchange))
+            return;
+        int[] pairs = parsePairs(parseQuery(exchange.getRequestURI().getRawQuery()).get("pairs"));
+        if (pairs == null) {
+            sendError(exchange, 400, "pairs must look like USD/INR,EUR/JPY");
+            return;
+        }
+        if (openStreams.incrementAndGet() > MAX_STREAMS) {
+            openStreams.decrementAndGet();
+            sendError(exchange, 503, "Too many open streams");
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+
+        // The feed thread only enqueues; a slow client just misses updates
+        BlockingQueue<RateUpdate> queue = new ArrayBlockingQueue<>(STREAM_QUEUE);
+        RateFeed.Listener listener = queue::offer;
+        RateUpdate latest = engine.getFeed().getLatest();
+        if (latest != null)
+            queue.offer(latest);
+        engine.getFeed().subscribe(listener);
+
+        streamThreads.execute(() -> {
+            try (OutputStream out = exchange.getResponseBody()) {
+                while (!Thread.currentThread().isInterrupted()) {
+                    RateUpdate update = queue.poll(STREAM_HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+                    String event = update == null ? ": keep-alive\n\n" : formatEvent(update, pairs);
+                    out.write(event.getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+            } catch (IOException | InterruptedException e) {
+                // client went away or server stopping
+            } finally {
+                engine.getFeed().unsubscribe(listener);
+                openStreams.decrementAndGet();
+                exchange.close();
+            }
+        });
+    }
+
+    // "USD/INR,EUR/JPY" -> {from0, to0, from1, to1}; null if malformed; all USD pairs if absent
+    private static int[] parsePairs(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            int usd = Currencies.indexOf("USD");
+            int[] pairs = new int[(Currencies.size() - 1) * 2];
+            int k = 0;
+            for (int j = 0; j < Currencies.size(); j++) {
+                if (j == usd)
+                    continue;
+                pairs[k++] = usd;
+                pairs[k++] = j;
+            }
+            return pairs;
+        }
+        String[] items = text.split(",");
+        int[] pairs = new int[items.length * 2];
+        for (int k = 0; k < items.length; k++) {
+            String[] codes = items[k].split("/");
+            if (codes.length != 2)
+                return null;
+            pairs[2 * k] = Currencies.indexOf(upper(codes[0]));
+            pairs[2 * k + 1] = Currencies.indexOf(upper(codes[1]));
+            if (pairs[2 * k] < 0 || pairs[2 * k + 1] < 0)
+                return null;
+        }
+        return pairs;
+    }
+
+    private static String formatEvent(RateUpdate update, int[] pairs) {
+        StringBuilder event = new StringBuilder(64 + pairs.length * 40);
+        event.append("id: ").append(update.getSequence())
+                .append("\nevent: rates\ndata: {\"timestamp\":").append(update.getTimestamp())
+                .append(",\"rates\":[");
+        for (int k = 0; k < pairs.length; k += 2) {
+            int i = pairs[k];
+            int j = pairs[k + 1];
+            if (k > 0)
+                event.append(',');
+            event.append("{\"pair\":\"").append(Currencies.at(i).getCode()).append('/')
+                    .append(Currencies.at(j).getCode())
+                    .append("\",\"rate\":").append(update.rate(i, j))
+                    .append(",\"change\":").append(update.change(i, j))
+                    .append('}');
+        }
+        event.append("]}\n\n");
+        return event.toString();
+    }
+
+    // Concurrent callers for the same range share one read of the local history
+    private RateSeries getTrend(String base, String target, int days) throws IOException {
+        return trendLoads.execute(base + "/" + target + "/" + days,
+                () -> CurrencyFetcher.fetchTrendSeries(base, target, days));
+    }
+
+    private static boolean requireGet(HttpExchange exchange) throws IOException {
+        if ("GET".equals(exchange.getRequestMethod()))
+            return true;
+        exchange.getResponseHeaders().set("Allow", "GET");
+        sendError(exchange, 405, "Method not allowed");
+        return false;
+    }
+
+    private static String[] pathParts(HttpExchange exchange, String prefix) {
+        String path = exchange.getRequestURI().getPath().substring(prefix.length());
+        return path.isEmpty() ? new String[0] : path.split("/");
+    }
+
+    private static Map<String, String> parseQuery(String raw) {
+        Map<String, String> params = new HashMap<>();
+        if (raw == null || raw.isEmpty())
+            return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            try {
+                if (eq > 0)
+                    params.put(URLDecoder.decode(pair.substring(0, eq), "UTF-8"),
+                            URLDecoder.decode(pair.substring(eq + 1), "UTF-8"));
+            } catch (IllegalArgumentException | UnsupportedEncodingException e) {
+                // skip malformed pair
+            }
+        }
+        return params;
+    }
+
+    private static String upper(String code) {
+        return code == null ? null : code.trim().toUpperCase();
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder(message.length() + 16);
+        json.append("{\"error\":\"").append(message.replace("\"", "'")).append("\"}");
+        sendJson(exchange, status, json);
+    }
+
+    static void sendJson(HttpExchange exchange, int status, CharSequence body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.server;
+
+import com.rates.RateSeries;
+import com.rates.RateTable;
+
+import java.sql.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class RateStore {
+
+    // Replace the stored table for this base with a fresh snapshot
+    public static void saveSnapshot(RateTable table) {
+        String delete = "DELETE FROM rate_snapshots WHERE base = ?";
+        String insert = "INSERT INTO rate_snapshots(base, code, rate, fetched_at) VALUES(?,?,?,?)";
+
+        try (Connection conn = Database.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement del = conn.prepareStatement(delete);
+                    PreparedStatement ins = conn.prepareStatement(insert)) {
+
+                del.setString(1, table.getBase());
+                del.executeUpdate();
+
+                for (Map.Entry<String, Double> entry : table.getRates().entrySet()) {
+                    ins.setString(1, table.getBase());
+                    ins.setString(2, entry.getKey());
+                    ins.setDouble(3, entry.getValue());
+                    ins.setLong(4, table.getFetchedAt());
+                    ins.addBatch();
+                }
+                ins.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.out.println("Saving rate snapshot failed: " + e.getMessage());
+        }
+    }
+
+    // Last saved table for this base, or null if none
+    public static RateTable loadSnapshot(String base) {
+        String sql = "SELECT code, rate, fetched_at FROM rate_snapshots WHERE base = ?";
+
+        try (Connection conn = Database.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, base);
+            ResultSet rs = pstmt.executeQuery();
+
+            Map<String, Double> rates = new HashMap<>();
+            long fetchedAt = 0L;
+            while (rs.next()) {
+                rates.put(rs.getString("code"), rs.getDouble("rate"));
+                fetchedAt = rs.getLong("fetched_at");
+            }
+            return rates.isEmpty() ? null : new RateTable(base, rates, fetchedAt);
+
+        } catch (SQLException e) {
+            System.out.println("Loading rate snapshot failed: " + e.getMessage());
+        }
+        return null;
+    }
+
+    // Insert or overwrite every day of the series; false if the batch was rolled back
+    public static boolean saveHistory(RateSeries series) {
+        String upsert = "INSERT OR REPLACE INTO rate_history(base, target, day, rate) VALUES(?,?,?,?)";
+
+        try (Connection conn = Database.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ins = conn.prepareStatement(upsert)) {
+
+                for (int i = 0; i < series.size(); i++) {
+                    ins.setString(1, series.getBase());
+                    ins.setString(2, series.getTarget());
+                    ins.setInt(3, series.dayAt(i));
+                    ins.setDouble(4, series.rateAt(i));
+                    ins.addBatch();
+                }
+                ins.executeBatch();
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.out.println("Saving rate history failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Stored days between fromDay and toDay (epoch days, inclusive), oldest first
+    public static RateSeries loadHistory(String base, String target, int fromDay, int toDay) {
+        String sql = "SELECT day, rate FROM rate_history WHERE base = ? AND target = ? AND day BETWEEN ? AND ? "
+                + "ORDER BY day";
+        int[] days = new int[64];
+        double[] rates = new double[64];
+        int count = 0;
+
+        try (Connection conn = Database.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, base);
+            pstmt.setString(2, target);
+            pstmt.setInt(3, fromDay);
+            pstmt.setInt(4, toDay);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                if (count == days.length) {
+                    days = Arrays.copyOf(days, count * 2);
+                    rates = Arrays.copyOf(rates, count * 2);
+                }
+                days[count] = rs.getInt(1);
+                rates[count++] = rs.getDouble(2);
+            }
+
+        } catch (SQLException e) {
+            System.out.println("Loading rate history failed: " + e.getMessage());
+            count = 0;
+        }
+        return new RateSeries(base, target, Arrays.copyOf(days, count), Arrays.copyOf(rates, count));
+    }
+
+    // {first_day, last_day, checked_at} already downloaded for this pair, or null if none
+    public static long[] loadCoverage(String base, String target) {
+        String sql = "SELECT first_day, last_day, checked_at FROM rate_history_coverage WHERE base = ? AND target = ?";
+
+        try (Connection conn = Database.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, base);
+            pstmt.setString(2, target);
+            ResultSet rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                return new long[] { rs.getLong(1), rs.getLong(2), rs.getLong(3) };
+            }
+
+        } catch (SQLException e) {
+            System.out.println("Loading history coverage failed: " + e.getMessage());
+        }
+        return null;
+    }
+
+    public static void saveCoverage(String base, String target, int firstDay, int lastDay, long checkedAt) {
+        String sql = "INSERT OR REPLACE INTO rate_history_coverage(base, target, first_day, last_day, checked_at) "
+                + "VALUES(?,?,?,?,?)";
+
+        try (Connection conn = Database.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, base);
+            pstmt.setString(2, target);
+            pstmt.setInt(3, firstDay);
+            pstmt.setInt(4, lastDay);
+            pstmt.setLong(5, checkedAt);
+            pstmt.executeUpdate();
+
+        } catch (SQLException e) {
+            System.out.println("Saving history coverage failed: " + e.getMessage());
+        }
+    }
+}
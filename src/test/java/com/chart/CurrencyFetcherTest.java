@@ -0,0 +1,116 @@
+package com.chart;
+
+import com.rates.RateColumns;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CurrencyFetcherTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 1, 30);
+
+    // GBP answers every window except the middle one
+    private static final String BROKEN_BASE = "GBP";
+    private static final LocalDate BROKEN_WINDOW = LocalDate.of(2024, 1, 11);
+    private static final AtomicInteger BROKEN_REQUESTS = new AtomicInteger();
+
+    private static HttpServer server;
+
+    @BeforeAll
+    static void startProvider() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", CurrencyFetcherTest::respond);
+        server.start();
+        CurrencyFetcher.useProvider("http://127.0.0.1:" + server.getAddress().getPort(), 10);
+    }
+
+    @AfterAll
+    static void stopProvider() {
+        CurrencyFetcher.useProvider(null, 0);
+        server.stop(0);
+    }
+
+    @Test
+    void joinsEveryWindowIntoColumns() {
+        CurrencyFetcher.ColumnDownload download = CurrencyFetcher.downloadColumns("USD",
+                new String[] { "INR", "EUR" }, START, END);
+
+        assertTrue(download.isComplete());
+        assertEquals(3, download.getChunkCount());
+        RateColumns columns = download.getColumns();
+        assertEquals(30, columns.size());
+        assertEquals(START, columns.dateAt(0));
+        assertEquals(END, columns.dateAt(29));
+        assertEquals(80.0 + 30, columns.rate(columns.indexOf("INR"), 29), 0.0);
+        assertEquals(0.5 + 30, columns.rate(columns.indexOf("EUR"), 29), 0.0);
+    }
+
+    @Test
+    void keepsTheWindowsThatArrived() {
+        CurrencyFetcher.ColumnDownload download = CurrencyFetcher.downloadColumns(BROKEN_BASE,
+                new String[] { "INR", "EUR" }, START, END);
+
+        assertFalse(download.isComplete());
+        assertFalse(download.isEmpty());
+        assertEquals(1, download.getFailedChunks());
+        assertEquals(20, download.getColumns().size());
+        assertEquals((int) LocalDate.of(2024, 1, 10).toEpochDay(), download.completeThrough());
+        assertEquals((int) LocalDate.of(2024, 1, 21).toEpochDay(), download.completeFrom());
+        // A 404 will not go away on retry
+        assertEquals(1, BROKEN_REQUESTS.get());
+    }
+
+    // Frankfurter-style time series: /{start}..{end}?from={base}&to={targets}
+    private static void respond(HttpExchange exchange) throws IOException {
+        String[] range = exchange.getRequestURI().getPath().substring(1).split("\\.\\.");
+        String query = exchange.getRequestURI().getQuery();
+        String base = query.replaceFirst(".*from=([A-Z]+).*", "$1");
+        String[] targets = query.replaceFirst(".*to=([A-Z,]+).*", "$1").split(",");
+        LocalDate from = LocalDate.parse(range[0]);
+        LocalDate to = LocalDate.parse(range[1]);
+
+        byte[] body;
+        int status;
+        if (base.equals(BROKEN_BASE) && from.equals(BROKEN_WINDOW)) {
+            BROKEN_REQUESTS.incrementAndGet();
+            status = 404;
+            body = "{\"message\":\"not found\"}".getBytes(StandardCharsets.UTF_8);
+        } else {
+            StringBuilder json = new StringBuilder("{\"amount\":1.0,\"base\":\"").append(base)
+                    .append("\",\"start_date\":\"").append(from)
+                    .append("\",\"end_date\":\"").append(to).append("\",\"rates\":{");
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                if (!day.equals(from))
+                    json.append(',');
+                json.append('"').append(day).append("\":{");
+                for (int k = 0; k < targets.length; k++) {
+                    double rate = (targets[k].equals("INR") ? 80.0 : 0.5) + day.getDayOfMonth();
+                    json.append(k == 0 ? "" : ",").append('"').append(targets[k]).append("\":").append(rate);
+                }
+                json.append('}');
+            }
+            status = 200;
+            body = json.append("}}").toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
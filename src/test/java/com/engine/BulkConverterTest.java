@@ -0,0 +1,68 @@
+package com.engine;
+
+import com.rates.RateCache;
+import com.rates.RateTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkConverterTest {
+
+    private static final String LEDGER = "amount,from,to\n100,USD,INR\n100,INR,USD\n100,EUR,INR\n";
+
+    @Test
+    void writesErrorRowsForRatesWithoutAFixedPointForm() throws IOException {
+        ConversionEngine engine = offlineEngine();
+        try {
+            // A zero quote makes every rate out of INR infinite
+            long fetchedAt = System.currentTimeMillis();
+            engine.restore(new RateTable("USD", new String[] { "INR", "EUR" }, new double[] { 0.0, 0.5 },
+                    fetchedAt));
+            StringWriter out = new StringWriter();
+            BulkConverter.Result result = new BulkConverter(engine, RoundingMode.HALF_EVEN, 2, 2)
+                    .convert(new BufferedReader(new StringReader(LEDGER)), out);
+
+            assertEquals("amount,from,to,date,converted\n"
+                    + "100,USD,INR,,0.00\n"
+                    + "100,INR,USD,,#ERROR\n"
+                    + "100,EUR,INR,,0.00\n", out.toString());
+            assertEquals(3, result.getRows());
+            assertEquals(1, result.getErrors());
+            assertFalse(result.isMockRates());
+            assertEquals(fetchedAt, result.getRatesFetchedAt());
+        } finally {
+            engine.stop();
+        }
+    }
+
+    @Test
+    void refusesMockRatesUnlessAllowed() throws IOException {
+        ConversionEngine engine = offlineEngine();
+        try {
+            assertThrows(IOException.class, () -> new BulkConverter(engine)
+                    .convert(new BufferedReader(new StringReader(LEDGER)), new StringWriter()));
+
+            BulkConverter.Result result = new BulkConverter(engine, true)
+                    .convert(new BufferedReader(new StringReader(LEDGER)), new StringWriter());
+            assertTrue(result.isMockRates());
+            assertEquals(0, result.getErrors());
+        } finally {
+            engine.stop();
+        }
+    }
+
+    private static ConversionEngine offlineEngine() {
+        return new ConversionEngine(new RateCache(30 * 60 * 1000L, 8), base -> {
+            throw new IOException("Provider unreachable");
+        });
+    }
+}
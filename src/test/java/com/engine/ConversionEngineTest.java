@@ -0,0 +1,43 @@
+package com.engine;
+
+import com.rates.RateCache;
+import com.rates.RateTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ConversionEngineTest {
+
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    @Test
+    void restartWithOldSnapshotConvertsWhileProviderIsDown() {
+        // Unreachable provider: every load hangs until the test ends
+        CountDownLatch down = new CountDownLatch(1);
+        ConversionEngine engine = new ConversionEngine(new RateCache(30 * 60 * 1000L, 8), base -> {
+            try {
+                down.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Provider unreachable");
+        });
+        try {
+            engine.restore(new RateTable("USD", new String[] { "INR", "EUR" }, new double[] { 90.0, 0.9 },
+                    System.currentTimeMillis() - DAY_MILLIS));
+
+            double rate = assertTimeoutPreemptively(Duration.ofSeconds(2), () -> engine.getRate("USD", "INR"));
+            assertEquals(90.0, rate, 0.0);
+            assertEquals(100.0, assertTimeoutPreemptively(Duration.ofSeconds(2),
+                    () -> engine.getRate("EUR", "INR")), 1e-9);
+        } finally {
+            down.countDown();
+            engine.stop();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyFormatTest {
+
+    @Test
+    void formatsWithAndWithoutGrouping() {
+        assertEquals("1,234,567.89", MoneyFormat.DEFAULT.format(123456789, 2));
+        assertEquals("1234567.89", MoneyFormat.PLAIN.format(123456789, 2));
+        assertEquals("-0.05", MoneyFormat.DEFAULT.format(-5, 2));
+        assertEquals("1,000", MoneyFormat.DEFAULT.format(1000, 0));
+        assertEquals("-12.345", MoneyFormat.DEFAULT.format(-12345, 3));
+        assertEquals("0.00", MoneyFormat.PLAIN.format(0, 2));
+    }
+
+    @Test
+    void parsesBackWhatItFormats() {
+        long[] amounts = { 0, 1, -1, 5, -5, 999, 1000, -1000, 123456789, -123456789, Long.MAX_VALUE / 10,
+                -(Long.MAX_VALUE / 10) };
+        for (long amount : amounts)
+            for (int scale = 0; scale <= 3; scale++) {
+                assertEquals(amount, Money.parse(MoneyFormat.DEFAULT.format(amount, scale), scale,
+                        RoundingMode.UNNECESSARY));
+                assertEquals(amount, Money.parse(MoneyFormat.PLAIN.format(amount, scale), scale,
+                        RoundingMode.UNNECESSARY));
+            }
+    }
+
+    @Test
+    void rejectsAmountsWithoutAMagnitude() {
+        assertThrows(IllegalArgumentException.class, () -> MoneyFormat.DEFAULT.format(Long.MIN_VALUE, 2));
+    }
+}
@@ -0,0 +1,140 @@
+package com.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    private static final long ONE = 1_000_000_000_000L;
+
+    // Every mode that may have to round
+    private static final RoundingMode[] MODES = {
+            RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR,
+            RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN };
+
+    @Test
+    void parsesGroupedAmounts() {
+        assertEquals(123456L, Money.parse("1,234.56", 2, RoundingMode.HALF_EVEN));
+        assertEquals(-5L, Money.parse("-0.05", 2, RoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    void roundsSurplusFractionDigits() {
+        assertEquals(101L, Money.parse("1.005", 2, RoundingMode.HALF_UP));
+        assertEquals(100L, Money.parse("1.005", 2, RoundingMode.HALF_EVEN));
+        assertEquals(0L, Money.parse("0.000000000000000001", 2, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void rejectsMoreFractionDigitsThanCanBeRounded() {
+        assertThrows(NumberFormatException.class,
+                () -> Money.parse("0.0000000000000000000001", 2, RoundingMode.HALF_EVEN));
+        assertThrows(NumberFormatException.class,
+                () -> Money.parse("1.0000000000000000000001", 2, RoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    void rejectsMalformedAmounts() {
+        assertThrows(NumberFormatException.class, () -> Money.parse("", 2, RoundingMode.HALF_EVEN));
+        assertThrows(NumberFormatException.class, () -> Money.parse("1.2.3", 2, RoundingMode.HALF_EVEN));
+        assertThrows(NumberFormatException.class, () -> Money.parse("abc", 2, RoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    void convertsLargeAmountsExactly() {
+        long[] amounts = { 1, 99, 123_456_789, 1_000_000_000_000_000L, Long.MAX_VALUE / 1000, Long.MAX_VALUE };
+        // 1.0, 83.251234567891, 0.000000000001, 0.999999999999, 1388.235294117647
+        long[] rates = { ONE, 83_251_234_567_891L, 1, 999_999_999_999L, 1_388_235_294_117_647L };
+        for (long amount : amounts)
+            for (long rate : rates)
+                for (RoundingMode mode : MODES) {
+                    assertConvertsExactly(amount, 2, rate, 2, mode);
+                    assertConvertsExactly(amount, 0, rate, 2, mode);
+                    assertConvertsExactly(amount, 3, rate, 0, mode);
+                }
+    }
+
+    @Test
+    void convertsRandomAmountsAndRatesExactly() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long amount = random.nextLong() % 100_000_000_000_000_000L;
+            long rate = 1 + Math.floorMod(random.nextLong(), 10_000 * ONE);
+            assertConvertsExactly(amount, random.nextInt(4), rate, random.nextInt(4), MODES[i % MODES.length]);
+        }
+    }
+
+    @Test
+    void breaksTiesToEven() {
+        // 0.125 at scale 3 -> 0.12 and 0.135 -> 0.14 at scale 2
+        assertEquals(12L, Money.convert(125, 3, ONE, 2, RoundingMode.HALF_EVEN));
+        assertEquals(14L, Money.convert(135, 3, ONE, 2, RoundingMode.HALF_EVEN));
+        assertEquals(13L, Money.convert(125, 3, ONE, 2, RoundingMode.HALF_UP));
+        assertEquals(12L, Money.convert(125, 3, ONE, 2, RoundingMode.HALF_DOWN));
+        // A tie only in the last of the twelve rate digits: 1.00 * 0.000000000005 = 0.000000000005
+        assertEquals(0L, Money.convert(100, 2, 5L, 11, RoundingMode.HALF_EVEN));
+        assertEquals(2L, Money.convert(100, 2, 15L, 11, RoundingMode.HALF_EVEN));
+        // Just above a tie rounds up whatever the mode
+        assertEquals(13L, Money.convert(125, 3, ONE + 1, 2, RoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    void roundsNegativeAmountsBySign() {
+        assertEquals(-12L, Money.convert(-125, 3, ONE, 2, RoundingMode.HALF_EVEN));
+        assertEquals(-13L, Money.convert(-125, 3, ONE, 2, RoundingMode.HALF_UP));
+        assertEquals(-13L, Money.convert(-125, 3, ONE, 2, RoundingMode.FLOOR));
+        assertEquals(-12L, Money.convert(-125, 3, ONE, 2, RoundingMode.CEILING));
+        assertEquals(-13L, Money.convert(-125, 3, ONE, 2, RoundingMode.UP));
+        assertEquals(-12L, Money.convert(-125, 3, ONE, 2, RoundingMode.DOWN));
+        for (RoundingMode mode : MODES)
+            assertConvertsExactly(-Long.MAX_VALUE, 2, 83_251_234_567_891L, 2, mode);
+    }
+
+    @Test
+    void rejectsConversionsThatOverflow() {
+        assertThrows(ArithmeticException.class,
+                () -> Money.convert(Long.MAX_VALUE, 2, 2 * ONE, 2, RoundingMode.HALF_EVEN));
+        assertThrows(ArithmeticException.class,
+                () -> Money.convert(-Long.MAX_VALUE, 2, 2 * ONE, 2, RoundingMode.HALF_EVEN));
+        assertThrows(ArithmeticException.class,
+                () -> Money.convert(Long.MAX_VALUE / 10, 0, ONE, 2, RoundingMode.HALF_EVEN));
+        assertThrows(ArithmeticException.class,
+                () -> Money.convert(Long.MIN_VALUE, 2, ONE, 2, RoundingMode.HALF_EVEN));
+        // A rate one digit above 1.0 is enough to push the largest amount out of range
+        assertThrows(ArithmeticException.class,
+                () -> Money.convert(Long.MAX_VALUE, 2, ONE + 1, 2, RoundingMode.UP));
+        assertThrows(ArithmeticException.class,
+                () -> Money.convert(125, 3, ONE, 2, RoundingMode.UNNECESSARY));
+        assertEquals(Long.MAX_VALUE, Money.convert(Long.MAX_VALUE, 2, ONE, 2, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    void rejectsRatesThatCannotBeFixed() {
+        assertEquals(83_251_234_567_891L, Money.rateToFixed(83.251234567891));
+        assertThrows(IllegalArgumentException.class, () -> Money.rateToFixed(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Money.rateToFixed(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> Money.rateToFixed(-0.5));
+        assertThrows(IllegalArgumentException.class, () -> Money.rateToFixed(1e7));
+    }
+
+    // Checks convert against BigDecimal, including when the result must not fit in a long
+    private static void assertConvertsExactly(long minor, int fromScale, long rateFixed, int toScale,
+            RoundingMode mode) {
+        BigDecimal expected = BigDecimal.valueOf(minor).multiply(BigDecimal.valueOf(rateFixed))
+                .scaleByPowerOfTen(toScale - fromScale - Money.RATE_SCALE)
+                .setScale(0, mode);
+        if (expected.unscaledValue().bitLength() >= 64) {
+            assertThrows(ArithmeticException.class,
+                    () -> Money.convert(minor, fromScale, rateFixed, toScale, mode));
+            return;
+        }
+        assertEquals(expected.longValueExact(), Money.convert(minor, fromScale, rateFixed, toScale, mode),
+                () -> minor + " x " + rateFixed + " " + fromScale + "->" + toScale + " " + mode);
+    }
+}
@@ -0,0 +1,16 @@
+package com.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsTest {
+
+    @Test
+    void escapesLabelValuesForScrapes() {
+        Metrics.counter("test.escaped", "path", "C:\\rates \"daily\"\nnext").increment();
+
+        String scrape = Metrics.scrape();
+        assertTrue(scrape.contains("test_escaped_total{path=\"C:\\\\rates \\\"daily\\\"\\nnext\"}"), scrape);
+    }
+}
@@ -0,0 +1,54 @@
+package com.rates;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CircuitBreakerTest {
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 60000L, 60000L);
+        for (int i = 0; i < 2; i++)
+            assertThrows(IOException.class, () -> breaker.execute(() -> {
+                throw new IOException("down");
+            }));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(CircuitBreaker.OpenException.class, () -> breaker.execute(() -> "unreachable"));
+    }
+
+    @Test
+    void clientErrorsKeepTheCircuitClosed() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 60000L, 60000L);
+        for (int i = 0; i < 5; i++)
+            assertThrows(RateHttpClient.StatusException.class, () -> breaker.execute(() -> {
+                throw new RateHttpClient.StatusException(404, "http://test/2024-01-01..?from=USD&to=RUB");
+            }));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        for (int i = 0; i < 2; i++)
+            assertThrows(RateHttpClient.StatusException.class, () -> breaker.execute(() -> {
+                throw new RateHttpClient.StatusException(503, "http://test/latest");
+            }));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void probeThatThrowsAnErrorReopens() throws IOException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0L, 0L);
+        assertThrows(IOException.class, () -> breaker.execute(() -> {
+            throw new IOException("down");
+        }));
+        assertThrows(AssertionError.class, () -> breaker.execute(() -> {
+            throw new AssertionError("probe failed");
+        }));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // With no back-off the next call is a fresh probe rather than being refused
+        assertEquals("ok", breaker.execute(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
@@ -0,0 +1,51 @@
+package com.rates;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateParserTest {
+
+    // Dates out of order, with 2024-01-02 listed twice
+    private static final String SHUFFLED = "{\"amount\":1.0,\"base\":\"USD\",\"rates\":{"
+            + "\"2024-01-03\":{\"INR\":83.3,\"EUR\":0.93},"
+            + "\"2024-01-01\":{\"INR\":83.1},"
+            + "\"2024-01-02\":{\"INR\":83.0,\"EUR\":0.90},"
+            + "\"2024-01-04\":{\"INR\":83.4,\"EUR\":0.94},"
+            + "\"2024-01-02\":{\"INR\":83.2,\"EUR\":0.92}}}";
+
+    private static final int[] DAYS = {
+            (int) LocalDate.of(2024, 1, 1).toEpochDay(), (int) LocalDate.of(2024, 1, 2).toEpochDay(),
+            (int) LocalDate.of(2024, 1, 3).toEpochDay(), (int) LocalDate.of(2024, 1, 4).toEpochDay() };
+
+    @Test
+    void sortsSeriesListedOutOfOrder() throws IOException {
+        RateSeries series = RateParser.parseSeries(json(SHUFFLED), "USD", "INR");
+
+        assertArrayEquals(DAYS, series.getDays());
+        assertArrayEquals(new double[] { 83.1, 83.2, 83.3, 83.4 }, series.getRates(), 0.0);
+    }
+
+    @Test
+    void sortsColumnsListedOutOfOrder() throws IOException {
+        RateColumns columns = RateParser.parseColumns(json(SHUFFLED), "USD", new String[] { "INR", "EUR" });
+
+        assertArrayEquals(DAYS, columns.getDays());
+        assertArrayEquals(new double[] { 83.1, 83.2, 83.3, 83.4 }, columns.getColumn(0), 0.0);
+        assertTrue(Double.isNaN(columns.rate(1, 0)));
+        assertEquals(0.92, columns.rate(1, 1), 0.0);
+        assertEquals(0.94, columns.rate(1, 3), 0.0);
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}